@@ -7,7 +7,10 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
 import org.eclipse.jdt.core.dom.ASTNode;
 import org.eclipse.jdt.core.dom.CompilationUnit;
@@ -21,6 +24,14 @@ import com.google.common.collect.Sets;
 
 import de.uka.ipd.sdq.workflow.blackboard.Blackboard;
 
+/**
+ * The blackboard shared by all jobs of the rule engine. Discoverers and analysts run in parallel, so
+ * all partitions and internal maps are safe for concurrent use.
+ * <p>
+ * Since the internal maps are concurrent maps, which do not permit null, the {@code put} methods
+ * reject null keys with an {@link IllegalArgumentException}, and a null value removes the
+ * association instead of storing null. Looking up an absent association still returns null.
+ */
 public class RuleEngineBlackboard extends Blackboard<Object> {
 
     public static final String KEY_REPOSITORY = "org.palladiosimulator.somox.analyzer.repository";
@@ -32,30 +43,77 @@ public class RuleEngineBlackboard extends Blackboard<Object> {
     private final Map<Entity, CompilationUnit> entityLocations;
     private final Map<Path, Set<CompilationUnit>> systemAssociations;
     private final Map<System, Path> systemPaths;
-    private PCMDetector pcmDetector;
+    private final Map<Entity, Path> releasedEntityPaths;
+    private volatile PCMDetector pcmDetector;
 
     public RuleEngineBlackboard() {
-        compilationUnits = new HashSet<>();
-        compilationUnitLocations = new HashMap<>();
-        repositoryComponentLocations = new HashMap<>();
-        entityLocations = new HashMap<>();
-        systemAssociations = new HashMap<>();
-        systemPaths = new HashMap<>();
-        addPartition(KEY_SEFF_ASSOCIATIONS, new HashMap<>());
+        compilationUnits = ConcurrentHashMap.newKeySet();
+        compilationUnitLocations = new ConcurrentHashMap<>();
+        repositoryComponentLocations = new ConcurrentHashMap<>();
+        entityLocations = new ConcurrentHashMap<>();
+        systemAssociations = new ConcurrentHashMap<>();
+        systemPaths = new ConcurrentHashMap<>();
+        releasedEntityPaths = new ConcurrentHashMap<>();
+        addPartition(KEY_SEFF_ASSOCIATIONS, new ConcurrentHashMap<>());
+    }
+
+    // The partitions of the base class are held in a plain map, so access to it is serialized.
+
+    @Override
+    public synchronized void addPartition(String id, Object partition) {
+        super.addPartition(id, partition);
+    }
+
+    @Override
+    public Object getPartition(String id) {
+        Object partition;
+        synchronized (this) {
+            partition = super.getPartition(id);
+        }
+        // Computed outside of the lock, so that other partitions stay accessible meanwhile
+        if (partition instanceof LazyPartition) {
+            return ((LazyPartition) partition).get();
+        }
+        return partition;
+    }
+
+    @Override
+    public synchronized boolean hasPartition(String id) {
+        return super.hasPartition(id);
+    }
+
+    @Override
+    public synchronized void removePartition(String id) {
+        super.removePartition(id);
+    }
+
+    /**
+     * Adds a partition whose content is only computed on its first access. The supplier is called at
+     * most once, even if the partition is accessed concurrently. Discoverers use this to parse their
+     * files only if a rule actually reads them, while {@link #hasPartition(String)} already reports
+     * the partition.
+     *
+     * @param id
+     *            the id of the partition
+     * @param supplier
+     *            computes the content of the partition
+     */
+    public void addLazyPartition(String id, Supplier<?> supplier) {
+        addPartition(id, new LazyPartition(supplier));
     }
 
     public Path putCompilationUnitLocation(CompilationUnit compilationUnit, Path path) {
-        return compilationUnitLocations.put(compilationUnit, path);
+        return put(compilationUnitLocations, compilationUnit, path);
     }
 
     public Path getCompilationUnitLocation(CompilationUnit compilationUnit) {
-        return compilationUnitLocations.get(compilationUnit);
+        return get(compilationUnitLocations, compilationUnit);
     }
 
     public CompilationUnit putRepositoryComponentLocation(RepositoryComponent repoComp,
             CompilationUnit compilationUnit) {
-        entityLocations.put(repoComp, compilationUnit);
-        return repositoryComponentLocations.put(repoComp, compilationUnit);
+        put(entityLocations, repoComp, compilationUnit);
+        return put(repositoryComponentLocations, repoComp, compilationUnit);
     }
 
     public Map<RepositoryComponent, CompilationUnit> getRepositoryComponentLocations() {
@@ -63,7 +121,7 @@ public class RuleEngineBlackboard extends Blackboard<Object> {
     }
 
     public Map<Entity, Path> getEntityPaths() {
-        final Map<Entity, Path> entityPaths = new HashMap<>();
+        final Map<Entity, Path> entityPaths = new HashMap<>(releasedEntityPaths);
 
         for (Entity entity : entityLocations.keySet()) {
             CompilationUnit compilationUnit = entityLocations.get(entity);
@@ -84,6 +142,29 @@ public class RuleEngineBlackboard extends Blackboard<Object> {
         return Collections.unmodifiableMap(entityPaths);
     }
 
+    /**
+     * Releases all JDT based data, i.e. the CompilationUnits, their associations, the PCMDetector
+     * and the SEFF associations. Only the paths of the entities are kept, so that
+     * {@link #getEntityPaths()} stays valid. Must only be called once no job needs the ASTs anymore.
+     */
+    public void releaseCompilationUnits() {
+        for (Entity entity : entityLocations.keySet()) {
+            CompilationUnit compilationUnit = entityLocations.get(entity);
+            Path path = compilationUnit == null ? null : compilationUnitLocations.get(compilationUnit);
+            if (path != null) {
+                releasedEntityPaths.put(entity, path);
+            }
+        }
+
+        compilationUnits.clear();
+        compilationUnitLocations.clear();
+        repositoryComponentLocations.clear();
+        entityLocations.clear();
+        systemAssociations.clear();
+        pcmDetector = null;
+        addPartition(KEY_SEFF_ASSOCIATIONS, new ConcurrentHashMap<>());
+    }
+
     public void setPCMDetector(PCMDetector pcmDetector) {
         this.pcmDetector = pcmDetector;
     }
@@ -141,21 +222,21 @@ public class RuleEngineBlackboard extends Blackboard<Object> {
     }
 
     public void putSystemPath(System system, Path path) {
-        systemPaths.put(system, path);
+        put(systemPaths, system, path);
     }
 
     public void putSeffAssociation(ASTNode astNode, ServiceEffectSpecification seff) {
         @SuppressWarnings("unchecked")
         Map<ASTNode, ServiceEffectSpecification> seffAssociations = (Map<ASTNode, ServiceEffectSpecification>) getPartition(
                 KEY_SEFF_ASSOCIATIONS);
-        seffAssociations.put(astNode, seff);
+        put(seffAssociations, astNode, seff);
     }
 
     public ServiceEffectSpecification getSeffAssociation(ASTNode astNode) {
         @SuppressWarnings("unchecked")
         Map<ASTNode, ServiceEffectSpecification> seffAssociations = (Map<ASTNode, ServiceEffectSpecification>) getPartition(
                 KEY_SEFF_ASSOCIATIONS);
-        return seffAssociations.get(astNode);
+        return get(seffAssociations, astNode);
     }
 
     public Map<ASTNode, ServiceEffectSpecification> getSeffAssociations() {
@@ -164,4 +245,49 @@ public class RuleEngineBlackboard extends Blackboard<Object> {
                 KEY_SEFF_ASSOCIATIONS);
         return Collections.unmodifiableMap(seffAssociations);
     }
+
+    /**
+     * Puts an association into a concurrent map. A null value removes the association, a null key is
+     * rejected.
+     */
+    private static <K, V> V put(Map<K, V> map, K key, V value) {
+        if (key == null) {
+            throw new IllegalArgumentException("The blackboard does not accept null keys");
+        }
+        if (value == null) {
+            return map.remove(key);
+        }
+        return map.put(key, value);
+    }
+
+    private static <K, V> V get(Map<K, V> map, K key) {
+        if (key == null) {
+            return null;
+        }
+        return map.get(key);
+    }
+
+    private static final class LazyPartition {
+        private Supplier<?> supplier;
+        private Object value;
+        private volatile boolean computed;
+
+        LazyPartition(Supplier<?> supplier) {
+            this.supplier = Objects.requireNonNull(supplier);
+        }
+
+        Object get() {
+            if (!computed) {
+                synchronized (this) {
+                    if (!computed) {
+                        value = supplier.get();
+                        computed = true;
+                        // The supplier is not needed anymore and may hold on to large state
+                        supplier = null;
+                    }
+                }
+            }
+            return value;
+        }
+    }
 }
@@ -1,6 +1,7 @@
 package org.palladiosimulator.somox.analyzer.rules.engine;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedList;
@@ -30,7 +31,9 @@ import org.palladiosimulator.somox.analyzer.rules.model.JavaOperationName;
 import org.palladiosimulator.somox.analyzer.rules.model.Operation;
 import org.palladiosimulator.somox.analyzer.rules.model.OperationInterface;
 import org.palladiosimulator.somox.analyzer.rules.model.OperationName;
+import org.palladiosimulator.somox.analyzer.rules.model.Provisions;
 import org.palladiosimulator.somox.analyzer.rules.model.ProvisionsBuilder;
+import org.palladiosimulator.somox.analyzer.rules.model.Requirements;
 import org.palladiosimulator.somox.analyzer.rules.model.RequirementsBuilder;
 
 /**
@@ -285,10 +288,19 @@ public class PCMDetector {
     protected Set<Composite> getCompositeComponents() {
         // Construct composites.
         if (constructedComposites.isEmpty()) {
-            List<Composite> allComposites = composites.values()
+            // The composites only read the shared inputs, so they are created once, frozen and then
+            // used to construct all composites in parallel. Sorting by name keeps the output order
+            // (and with it the redundancy elimination below) deterministic.
+            final Set<Component> components = Collections.unmodifiableSet(getComponents());
+            final Requirements requirements = compositeRequirements.create();
+            final Provisions provisions = compositeProvisions.create(List.of());
+            List<Composite> allComposites = composites.entrySet()
                 .stream()
-                .map(x -> x.construct(getComponents(), compositeRequirements.create(),
-                        compositeProvisions.create(List.of())))
+                .sorted(Map.Entry.comparingByKey())
+                .map(Map.Entry::getValue)
+                .collect(Collectors.toList())
+                .parallelStream()
+                .map(x -> x.construct(components, requirements, provisions))
                 .collect(Collectors.toList());
 
             // Remove redundant composites.
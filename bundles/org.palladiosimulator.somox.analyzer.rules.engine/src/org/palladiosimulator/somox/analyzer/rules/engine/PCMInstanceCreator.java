@@ -1,12 +1,15 @@
 package org.palladiosimulator.somox.analyzer.rules.engine;
 
 import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 import org.apache.log4j.Logger;
 import org.eclipse.jdt.core.dom.ASTNode;
@@ -14,6 +17,8 @@ import org.eclipse.jdt.core.dom.AbstractTypeDeclaration;
 import org.eclipse.jdt.core.dom.CompilationUnit;
 import org.eclipse.jdt.core.dom.IMethodBinding;
 import org.eclipse.jdt.core.dom.ITypeBinding;
+import org.eclipse.jdt.core.dom.IVariableBinding;
+import org.eclipse.jdt.core.dom.Modifier;
 import org.eclipse.jdt.core.dom.SimpleName;
 import org.palladiosimulator.generator.fluent.repository.api.Repo;
 import org.palladiosimulator.generator.fluent.repository.factory.FluentRepositoryFactory;
@@ -22,17 +27,21 @@ import org.palladiosimulator.generator.fluent.repository.structure.components.Co
 import org.palladiosimulator.generator.fluent.repository.structure.interfaces.OperationInterfaceCreator;
 import org.palladiosimulator.generator.fluent.repository.structure.interfaces.OperationSignatureCreator;
 import org.palladiosimulator.generator.fluent.repository.structure.internals.Primitive;
-import org.palladiosimulator.generator.fluent.repository.structure.types.CompositeDataTypeCreator;
 import org.palladiosimulator.pcm.core.composition.AssemblyContext;
 import org.palladiosimulator.pcm.repository.BasicComponent;
 import org.palladiosimulator.pcm.repository.CollectionDataType;
 import org.palladiosimulator.pcm.repository.CompositeComponent;
+import org.palladiosimulator.pcm.repository.CompositeDataType;
 import org.palladiosimulator.pcm.repository.DataType;
+import org.palladiosimulator.pcm.repository.InnerDeclaration;
 import org.palladiosimulator.pcm.repository.OperationProvidedRole;
+import org.palladiosimulator.pcm.repository.OperationSignature;
 import org.palladiosimulator.pcm.repository.OperationRequiredRole;
 import org.palladiosimulator.pcm.repository.ParameterModifier;
 import org.palladiosimulator.pcm.repository.Repository;
+import org.palladiosimulator.pcm.repository.RepositoryFactory;
 import org.palladiosimulator.pcm.seff.ResourceDemandingSEFF;
+import org.palladiosimulator.pcm.seff.ServiceEffectSpecification;
 import org.palladiosimulator.somox.analyzer.rules.blackboard.RuleEngineBlackboard;
 import org.palladiosimulator.somox.analyzer.rules.model.Component;
 import org.palladiosimulator.somox.analyzer.rules.model.Composite;
@@ -46,23 +55,62 @@ public class PCMInstanceCreator {
     private static final Logger LOG = Logger.getLogger(PCMInstanceCreator.class);
 
     private static final String REPO_NAME = "Software Architecture Repository";
+    /**
+     * How many levels of fields are extracted into the inner declarations of composite data types
+     * by default.
+     */
+    public static final int DEFAULT_COMPOSITE_TYPE_DEPTH = 3;
+
     private final FluentRepositoryFactory create;
     private final Repo repository;
     private final RuleEngineBlackboard blackboard;
-    private final Map<String, CompositeDataTypeCreator> existingDataTypesMap;
+    private final Map<String, CompositeDataType> existingDataTypesMap;
+    private final Map<Primitive, DataType> primitiveDataTypes;
     private final Map<String, DataType> existingCollectionDataTypes;
     private final Map<Component, CompositeComponentCreator> componentCompositeCreators;
     private final Map<String, CompositeComponentCreator> ifaceCompositeCreators;
     private final Map<Composite, CompositeComponentCreator> compositeCreators;
     private final Map<String, org.palladiosimulator.pcm.repository.OperationInterface> pcmInterfaces;
+    // Interface name -> operation -> signature, since an operation may be part of several interfaces
+    private final Map<String, Map<Operation, OperationSignature>> operationSignatures;
+    private final boolean lazySeffStubs;
+    private final int compositeTypeDepth;
+    // Binding key -> remaining depth the fields of that type have already been extracted with
+    private final Map<String, Integer> extractedCompositeTypes;
 
     public PCMInstanceCreator(RuleEngineBlackboard blackboard) {
+        this(blackboard, DEFAULT_COMPOSITE_TYPE_DEPTH);
+    }
+
+    public PCMInstanceCreator(RuleEngineBlackboard blackboard, int compositeTypeDepth) {
+        this(blackboard, compositeTypeDepth, false);
+    }
+
+    /**
+     * @param blackboard
+     *            the rule engine blackboard
+     * @param compositeTypeDepth
+     *            how many levels of fields are extracted into composite data types, 0 leaves them
+     *            empty
+     * @param lazySeffStubs
+     *            whether SEFF stubs are only created for operations provided by a component, instead
+     *            of for every interface operation with a declaration
+     */
+    public PCMInstanceCreator(RuleEngineBlackboard blackboard, int compositeTypeDepth, boolean lazySeffStubs) {
+        if (compositeTypeDepth < 0) {
+            throw new IllegalArgumentException("The composite type depth must not be negative");
+        }
+        this.compositeTypeDepth = compositeTypeDepth;
+        this.lazySeffStubs = lazySeffStubs;
+        this.extractedCompositeTypes = new HashMap<>();
         existingDataTypesMap = new HashMap<>();
+        primitiveDataTypes = new EnumMap<>(Primitive.class);
         existingCollectionDataTypes = new HashMap<>();
         this.componentCompositeCreators = new HashMap<>();
         this.ifaceCompositeCreators = new HashMap<>();
         this.compositeCreators = new HashMap<>();
         this.pcmInterfaces = new HashMap<>();
+        this.operationSignatures = new HashMap<>();
         create = new FluentRepositoryFactory();
         repository = create.newRepository()
             .withName(REPO_NAME);
@@ -230,14 +278,23 @@ public class PCMInstanceCreator {
     }
 
     private void createPCMInterfaces(Map<String, List<Operation>> interfaces) {
+        // Sorting keeps the signature name suffixes stable between runs.
+        List<Map.Entry<String, List<Operation>>> sortedInterfaces = interfaces.entrySet()
+            .stream()
+            .sorted(Map.Entry.comparingByKey())
+            .collect(Collectors.toList());
+
         Map<String, Integer> signatureNameCount = new HashMap<>();
-        interfaces.forEach((inter, operations) -> {
+        for (Map.Entry<String, List<Operation>> entry : sortedInterfaces) {
+            String inter = entry.getKey();
+            List<Operation> operations = entry.getValue();
             LOG.info("Current PCM Interface: " + inter);
 
             String pcmInterfaceName = inter.replace(".", "_");
             OperationInterfaceCreator pcmInterface = create.newOperationInterface()
                 .withName(pcmInterfaceName);
 
+            List<String> signatureNames = new ArrayList<>();
             for (final Operation operation : operations) {
                 String name = operation.getName()
                     .forInterface(inter)
@@ -268,19 +325,72 @@ public class PCMInstanceCreator {
                 }
 
                 pcmInterface.withOperationSignature(signature);
+                signatureNames.add(name);
+            }
 
-                Optional<ASTNode> astNode = getDeclaration(method);
-                if (astNode.isPresent() && blackboard.getSeffAssociation(astNode.get()) == null) {
-                    ResourceDemandingSEFF seff = create.newSeff()
-                        .onSignature(create.fetchOfSignature(name))
-                        .buildRDSeff();
-                    blackboard.putSeffAssociation(astNode.get(), seff);
+            // The fluent API only hands out built interfaces by name, so each interface is fetched
+            // exactly once. Its signatures are then taken from it by position instead of by name.
+            repository.addToRepository(pcmInterface);
+            org.palladiosimulator.pcm.repository.OperationInterface builtInterface = create
+                .fetchOfOperationInterface(pcmInterfaceName);
+            pcmInterfaces.put(inter, builtInterface);
+
+            List<OperationSignature> builtSignatures = builtInterface.getSignatures__OperationInterface();
+            for (int i = 0; i < signatureNames.size(); i++) {
+                Operation operation = operations.get(i);
+                String name = signatureNames.get(i);
+                OperationSignature builtSignature;
+                if (i < builtSignatures.size() && name.equals(builtSignatures.get(i)
+                    .getEntityName())) {
+                    builtSignature = builtSignatures.get(i);
+                } else {
+                    // Another interface with the same PCM name has been fetched instead
+                    builtSignature = (OperationSignature) create.fetchOfSignature(name);
+                }
+                operationSignatures.computeIfAbsent(inter, x -> new HashMap<>())
+                    .putIfAbsent(operation, builtSignature);
+
+                // In lazy mode, stubs are only created once a component provides the operation
+                if (!lazySeffStubs) {
+                    getSeffStub(operation, builtSignature);
                 }
             }
+        }
+    }
 
-            repository.addToRepository(pcmInterface);
-            pcmInterfaces.put(inter, create.fetchOfOperationInterface(pcmInterfaceName));
-        });
+    /**
+     * Returns the SEFF associated with the operation's declaration, creating an empty stub on the
+     * signature if there is none yet. Operations without a declaration do not get a SEFF.
+     */
+    private ServiceEffectSpecification getSeffStub(Operation operation, OperationSignature signature) {
+        Optional<ASTNode> astNode = getDeclaration(operation.getBinding());
+        if (astNode.isEmpty()) {
+            return null;
+        }
+        ServiceEffectSpecification seff = blackboard.getSeffAssociation(astNode.get());
+        if (seff == null) {
+            ResourceDemandingSEFF stub = create.newSeff()
+                .onSignature(signature)
+                .buildRDSeff();
+            blackboard.putSeffAssociation(astNode.get(), stub);
+            seff = stub;
+        }
+        return seff;
+    }
+
+    /**
+     * Returns the signature of the operation in the first interface describing it, or null if no
+     * interface does.
+     */
+    private OperationSignature findSignature(Operation operation) {
+        return operationSignatures.entrySet()
+            .stream()
+            .sorted(Map.Entry.comparingByKey())
+            .map(entry -> entry.getValue()
+                .get(operation))
+            .filter(Objects::nonNull)
+            .findFirst()
+            .orElse(null);
     }
 
     private Optional<ASTNode> getDeclaration(IMethodBinding binding) {
@@ -313,18 +423,37 @@ public class PCMInstanceCreator {
                 pcmComp.provides(providedInterface, provision.toString());
             }
 
-            comp.provisions()
+            for (Map.Entry<String, List<Operation>> provision : comp.provisions()
                 .simplified()
-                .values()
-                .stream()
-                .flatMap(List::stream)
-                .forEach(operation -> {
+                .entrySet()) {
+                // The signatures of the provided interface are preferred, the operation may be part
+                // of other interfaces as well
+                Map<Operation, OperationSignature> providedSignatures = operationSignatures
+                    .getOrDefault(provision.getKey(), Map.of());
+                for (Operation operation : provision.getValue()) {
+                    OperationSignature signature = providedSignatures.get(operation);
+                    if (signature == null) {
+                        // The operation only has a signature in another interface
+                        signature = findSignature(operation);
+                    }
+                    if (signature != null) {
+                        ServiceEffectSpecification seff = getSeffStub(operation, signature);
+                        if (seff != null) {
+                            pcmComp.withServiceEffectSpecification(seff);
+                        }
+                        continue;
+                    }
                     IMethodBinding method = operation.getBinding();
                     Optional<ASTNode> declaration = getDeclaration(method);
                     if (declaration.isPresent()) {
-                        pcmComp.withServiceEffectSpecification(blackboard.getSeffAssociation(declaration.get()));
+                        // Without a signature, no stub can be created in lazy mode
+                        ServiceEffectSpecification seff = blackboard.getSeffAssociation(declaration.get());
+                        if (seff != null) {
+                            pcmComp.withServiceEffectSpecification(seff);
+                        }
                     }
-                });
+                }
+            }
 
             distinctInterfaces.clear();
             for (EntireInterface requirement : comp.requirements()) {
@@ -392,88 +521,89 @@ public class PCMInstanceCreator {
     private OperationSignatureCreator handleSignatureDataType(OperationSignatureCreator signature, String varName,
             ITypeBinding variable, int varDimensions, boolean asReturnType) {
 
-        // Parameter is a collection (extends Collection, is an array or a vararg)
-        DataType collectionType = handleCollectionType(variable, varDimensions);
-        if (collectionType != null) {
+        DataType dataType = handleDataType(variable, varDimensions, asReturnType, compositeTypeDepth);
+        if (dataType == null) {
+            Primitive prim = handlePrimitive(variable);
             if (asReturnType) {
-                return signature.withReturnType(collectionType);
+                return signature.withReturnType(prim);
             }
-            return signature.withParameter(varName, collectionType, ParameterModifier.IN);
+            return signature.withParameter(varName, prim, ParameterModifier.IN);
+        }
+
+        if (asReturnType) {
+            return signature.withReturnType(dataType);
+        }
+        return signature.withParameter(varName, dataType, ParameterModifier.IN);
+    }
+
+    /**
+     * Returns the data type of a variable, creating it if there is none yet. Primitive types are not
+     * data types of the repository, so null is returned for them.
+     */
+    private DataType handleDataType(ITypeBinding variable, int varDimensions, boolean asReturnType,
+            int remainingDepth) {
+
+        // Parameter is a collection (extends Collection, is an array or a vararg)
+        DataType collectionType = handleCollectionType(variable, varDimensions, remainingDepth);
+        if (collectionType != null) {
+            return collectionType;
         }
 
         // Check if type is a primitive type
-        Primitive prim = handlePrimitive(variable);
-        if (prim != null) {
-            if (asReturnType) {
-                return signature.withReturnType(prim);
-            }
-            return signature.withParameter(varName, prim, ParameterModifier.IN);
+        if (handlePrimitive(variable) != null) {
+            return null;
         }
 
         // Check if type is void (not part of pcm primitives)
         if ("void".equals(variable.getQualifiedName()) && asReturnType) {
-            if (!create.containsDataType("Void")) {
-                repository.addToRepository(create.newCompositeDataType()
-                    .withName("Void"));
-            }
-            return signature.withReturnType(create.fetchOfDataType("Void"));
+            // Void is modeled as an empty composite type
+            return handleCompositeType("Void", null, 0);
         }
 
         // Parameter is Composite Type
-        DataType compositeType = handleCompositeType(variable);
-        if (compositeType != null) {
-            if (asReturnType) {
-                return signature.withReturnType(compositeType);
-            }
-            return signature.withParameter(varName, compositeType, ParameterModifier.IN);
-        }
-
-        return null;
+        return handleCompositeType(wrapName(variable), variable, remainingDepth);
     }
 
-    private DataType handleCollectionType(ITypeBinding ref, int dimensions) {
+    private DataType handleCollectionType(ITypeBinding ref, int dimensions, int remainingDepth) {
         // Base for the name of the collection data type
         String typeName = wrapName(ref);
 
-        CollectionDataType collectionType = null;
-        String collectionTypeName = null;
-
+        String collectionTypeName;
+        ITypeBinding typeArg;
+        int typeArgDimensions;
         if (dimensions != 0) {
             if (ref.isPrimitive()) {
                 typeName = convertPrimitive(ref).name();
             }
             collectionTypeName = typeName;
-
-            if (existingCollectionDataTypes.containsKey(collectionTypeName)) {
-                return existingCollectionDataTypes.get(collectionTypeName);
-            }
-
-            collectionType = createCollectionWithTypeArg(collectionTypeName, ref, dimensions - 1);
+            typeArg = ref;
+            typeArgDimensions = dimensions - 1;
         } else if (isCollectionType(ref) && (ref.getTypeArguments().length > 0)) {
             // TODO: I do not think this works properly for deeper collection types (e.g.
             // List<String>[]), especially the naming.
-            typeName = wrapName(ref);
-            ITypeBinding typeArg = ref.getTypeArguments()[0];
+            typeArg = ref.getTypeArguments()[0];
             String argumentTypeName = wrapName(typeArg);
             collectionTypeName = typeName + "<" + argumentTypeName + ">";
+            typeArgDimensions = typeArg.getDimensions();
 
             LOG.info("Current Argument type name: " + argumentTypeName);
-
-            if (existingCollectionDataTypes.containsKey(collectionTypeName)) {
-                return existingCollectionDataTypes.get(collectionTypeName);
-            }
-
-            collectionType = createCollectionWithTypeArg(collectionTypeName, typeArg, typeArg.getDimensions());
+        } else {
+            return null;
         }
-        if (collectionType != null) {
-            existingCollectionDataTypes.put(collectionTypeName, collectionType);
-            repository.addToRepository(collectionType);
+
+        if (existingCollectionDataTypes.containsKey(collectionTypeName)) {
+            return existingCollectionDataTypes.get(collectionTypeName);
         }
+
+        CollectionDataType collectionType = createCollectionWithTypeArg(collectionTypeName, typeArg,
+                typeArgDimensions, remainingDepth);
+        existingCollectionDataTypes.put(collectionTypeName, collectionType);
+        repository.addToRepository(collectionType);
         return collectionType;
     }
 
     private CollectionDataType createCollectionWithTypeArg(String collectionTypeName, ITypeBinding typeArg,
-            int typeArgDimensions) {
+            int typeArgDimensions, int remainingDepth) {
         // Type argument is primitive
         Primitive primitiveArg = handlePrimitive(typeArg);
         if (primitiveArg != null) {
@@ -482,18 +612,14 @@ public class PCMInstanceCreator {
 
         // Type argument is a collection again
         // A type argument cannot be a vararg, therefore it is "ordinary"
-        DataType collectionArg = handleCollectionType(typeArg, typeArgDimensions);
+        DataType collectionArg = handleCollectionType(typeArg, typeArgDimensions, remainingDepth);
         if (collectionArg != null) {
             return FluentRepositoryFactory.newCollectionDataType(collectionTypeName, collectionArg);
         }
 
         // Type argument is a composite data type
-        DataType compositeArg = handleCompositeType(typeArg);
-        if (compositeArg != null) {
-            return FluentRepositoryFactory.newCollectionDataType(collectionTypeName, compositeArg);
-        }
-
-        return null;
+        return FluentRepositoryFactory.newCollectionDataType(collectionTypeName,
+                handleCompositeType(wrapName(typeArg), typeArg, remainingDepth));
     }
 
     private static boolean isCollectionType(ITypeBinding varClassifier) {
@@ -529,18 +655,87 @@ public class PCMInstanceCreator {
         return null;
     }
 
-    private DataType handleCompositeType(ITypeBinding ref) {
-        String classifierName = wrapName(ref);
-
-        if (!existingDataTypesMap.containsKey(classifierName)) {
-            // TODO why is this commented out?
-//            existingDataTypesMap.put(classifierName, createTypesRecursively(ref));
-            existingDataTypesMap.put(classifierName, create.newCompositeDataType()
+    private DataType handleCompositeType(String classifierName, ITypeBinding binding, int remainingDepth) {
+        CompositeDataType compositeType = existingDataTypesMap.get(classifierName);
+        if (compositeType == null) {
+            repository.addToRepository(create.newCompositeDataType()
                 .withName(classifierName));
-            repository.addToRepository(existingDataTypesMap.get(classifierName));
+            // Fetched once, every further use goes through the map
+            compositeType = create.fetchOfCompositeDataType(classifierName);
+            existingDataTypesMap.put(classifierName, compositeType);
         }
 
-        return create.fetchOfCompositeDataType(classifierName);
+        if (binding != null) {
+            extractInnerDeclarations(compositeType, binding, remainingDepth);
+        }
+        return compositeType;
+    }
+
+    private void extractInnerDeclarations(CompositeDataType compositeType, ITypeBinding binding, int remainingDepth) {
+        // Only types of the analyzed project are extracted, library types stay opaque.
+        if (remainingDepth <= 0 || !binding.isFromSource()) {
+            return;
+        }
+
+        // The composite type is named after the erased type, so all parameterizations of a generic
+        // type share it. Its fields are therefore taken from the generic declaration.
+        ITypeBinding declaration = binding.getTypeDeclaration();
+
+        // Each type is walked at most once per depth, and it is marked before its fields are
+        // visited so that cyclic types terminate.
+        String key = declaration.getKey();
+        if (extractedCompositeTypes.getOrDefault(key, 0) >= remainingDepth) {
+            return;
+        }
+        extractedCompositeTypes.put(key, remainingDepth);
+
+        Set<String> declaredNames = compositeType.getInnerDeclaration_CompositeDataType()
+            .stream()
+            .map(InnerDeclaration::getEntityName)
+            .collect(Collectors.toSet());
+
+        for (IVariableBinding field : declaration.getDeclaredFields()) {
+            if (Modifier.isStatic(field.getModifiers()) || field.isEnumConstant()) {
+                continue;
+            }
+            ITypeBinding fieldType = field.getType();
+            if (dependsOnTypeVariable(fieldType)) {
+                continue;
+            }
+
+            DataType fieldDataType = handleDataType(fieldType, fieldType.getDimensions(), false, remainingDepth - 1);
+            if (fieldDataType == null) {
+                fieldDataType = primitiveDataTypes.computeIfAbsent(handlePrimitive(fieldType), create::fetchOfDataType);
+            }
+
+            // The same type may be revisited with more depth left, so only its new fields are added.
+            if (declaredNames.add(field.getName())) {
+                InnerDeclaration innerDeclaration = RepositoryFactory.eINSTANCE.createInnerDeclaration();
+                innerDeclaration.setEntityName(field.getName());
+                innerDeclaration.setDatatype_InnerDeclaration(fieldDataType);
+                compositeType.getInnerDeclaration_CompositeDataType()
+                    .add(innerDeclaration);
+            }
+        }
+    }
+
+    /**
+     * Fields whose type depends on a type parameter differ between the parameterizations of a
+     * generic type, so they are not part of the shared composite type.
+     */
+    private static boolean dependsOnTypeVariable(ITypeBinding type) {
+        if (type.isTypeVariable() || type.isWildcardType()) {
+            return true;
+        }
+        if (type.isArray()) {
+            return dependsOnTypeVariable(type.getElementType());
+        }
+        for (ITypeBinding typeArgument : type.getTypeArguments()) {
+            if (dependsOnTypeVariable(typeArgument)) {
+                return true;
+            }
+        }
+        return false;
     }
 
     private static String wrapName(ITypeBinding name) {
@@ -0,0 +1,36 @@
+package org.palladiosimulator.somox.analyzer.rules.configuration;
+
+import java.util.Set;
+
+/**
+ * The stages of the rule engine workflow after which the blackboard can be saved, so that a later
+ * run can resume from there. Only model partitions can be saved, the JDT based results of the
+ * discovery and rule phase are not part of a checkpoint.
+ */
+public enum Checkpoint {
+    /**
+     * After the SEFFs have been merged into the repository created by the rules.
+     */
+    REPOSITORY(Set.of(RuleEngineConfiguration.RULE_ENGINE_BLACKBOARD_KEY_REPOSITORY)),
+    /**
+     * After MoCoRe created the output models.
+     */
+    MOCORE_OUTPUT(Set.of(RuleEngineConfiguration.RULE_ENGINE_BLACKBOARD_KEY_REPOSITORY,
+            RuleEngineConfiguration.RULE_ENGINE_MOCORE_OUTPUT_REPOSITORY,
+            RuleEngineConfiguration.RULE_ENGINE_MOCORE_OUTPUT_SYSTEM,
+            RuleEngineConfiguration.RULE_ENGINE_MOCORE_OUTPUT_ALLOCATION,
+            RuleEngineConfiguration.RULE_ENGINE_MOCORE_OUTPUT_RESOURCE_ENVIRONMENT));
+
+    private final Set<String> keys;
+
+    Checkpoint(Set<String> keys) {
+        this.keys = keys;
+    }
+
+    /**
+     * @return the blackboard keys of the partitions that are saved at this checkpoint
+     */
+    public Set<String> getKeys() {
+        return keys;
+    }
+}
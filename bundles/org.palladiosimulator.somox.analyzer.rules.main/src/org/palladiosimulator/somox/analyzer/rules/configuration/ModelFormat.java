@@ -0,0 +1,20 @@
+package org.palladiosimulator.somox.analyzer.rules.configuration;
+
+/**
+ * The resource format the output models are persisted in. Files keep their usual extensions, so
+ * models that are not saved as plain XMI have to be loaded with the matching resource (options).
+ */
+public enum ModelFormat {
+    /**
+     * Plain XMI, readable by all Palladio tools.
+     */
+    XMI,
+    /**
+     * XMI inside a ZIP archive, to be loaded with {@code Resource.OPTION_ZIP}.
+     */
+    COMPRESSED_XMI,
+    /**
+     * EMF binary resource format, to be loaded with a {@code BinaryResourceImpl}.
+     */
+    BINARY
+}
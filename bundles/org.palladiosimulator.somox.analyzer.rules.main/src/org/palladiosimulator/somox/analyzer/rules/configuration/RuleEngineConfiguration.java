@@ -1,5 +1,6 @@
 package org.palladiosimulator.somox.analyzer.rules.configuration;
 
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
@@ -11,6 +12,7 @@ import org.eclipse.core.runtime.CoreException;
 import org.eclipse.emf.common.util.URI;
 import org.palladiosimulator.somox.analyzer.rules.all.DefaultRule;
 import org.palladiosimulator.somox.analyzer.rules.blackboard.RuleEngineBlackboard;
+import org.palladiosimulator.somox.analyzer.rules.engine.PCMInstanceCreator;
 import org.palladiosimulator.somox.analyzer.rules.service.Analyst;
 import org.palladiosimulator.somox.analyzer.rules.service.AnalystCollection;
 import org.palladiosimulator.somox.analyzer.rules.service.EmptyCollection;
@@ -41,11 +43,35 @@ public class RuleEngineConfiguration extends AbstractComposedJobConfiguration im
     public static final String RULE_ENGINE_MOCORE_OUTPUT_ALLOCATION = CONFIG_PREFIX + "mocore.output.allocation";
     public static final String RULE_ENGINE_MOCORE_OUTPUT_RESOURCE_ENVIRONMENT = CONFIG_PREFIX
             + "mocore.output.resource_environment";
+    public static final String RULE_ENGINE_LAZY_SEFF_STUBS = CONFIG_PREFIX + "seff.lazy";
+    public static final String RULE_ENGINE_DEDUPLICATE_TYPES = CONFIG_PREFIX + "types.deduplicate";
+    public static final String RULE_ENGINE_COMPOSITE_TYPE_DEPTH = CONFIG_PREFIX + "types.composite.depth";
+    public static final String RULE_ENGINE_SKIP_INTERMEDIATE_REPOSITORY = CONFIG_PREFIX + "repository.intermediate.skip";
+    public static final String RULE_ENGINE_MODEL_FORMAT = CONFIG_PREFIX + "persistence.format";
+    public static final String RULE_ENGINE_CHECKPOINTS = CONFIG_PREFIX + "checkpoints";
+    public static final String RULE_ENGINE_RESUME = CONFIG_PREFIX + "checkpoints.resume";
+    public static final String RULE_ENGINE_SPLIT_PLANTUML = CONFIG_PREFIX + "plantuml.split";
+    public static final String RULE_ENGINE_MOCORE_CONCURRENT = CONFIG_PREFIX + "mocore.transformation.concurrent";
+    public static final String RULE_ENGINE_MOCORE_BATCHED = CONFIG_PREFIX + "mocore.orchestration.batched";
+    public static final String RULE_ENGINE_MOCORE_COALESCED = CONFIG_PREFIX + "mocore.placeholders.coalesced";
+    public static final String RULE_ENGINE_RELEASE_ANALYSIS_DATA = CONFIG_PREFIX + "analysis.release";
     public static final String RULE_LIST_SEPARATOR = ";";
 
     private /* not final */ URI inputFolder;
     private /* not final */ URI outputFolder;
     private final Set<DefaultRule> rules;
+    private /* not final */ boolean lazySeffStubs;
+    private /* not final */ boolean deduplicateTypes;
+    private /* not final */ int compositeTypeDepth;
+    private /* not final */ boolean skipIntermediateRepository;
+    private /* not final */ ModelFormat modelFormat;
+    private final Set<Checkpoint> checkpoints;
+    private /* not final */ boolean resume;
+    private /* not final */ boolean splitPlantUml;
+    private /* not final */ boolean concurrentMoCoReTransformation;
+    private /* not final */ boolean batchedMoCoReOrchestration;
+    private /* not final */ boolean coalescedMoCoRePlaceholders;
+    private /* not final */ boolean releaseAnalysisData;
     private final ServiceConfiguration<Analyst> analystConfig;
     private final ServiceConfiguration<Discoverer> discovererConfig;
 
@@ -57,6 +83,9 @@ public class RuleEngineConfiguration extends AbstractComposedJobConfiguration im
 
     public RuleEngineConfiguration(Map<String, Object> attributes) {
         rules = new HashSet<>();
+        modelFormat = ModelFormat.XMI;
+        compositeTypeDepth = PCMInstanceCreator.DEFAULT_COMPOSITE_TYPE_DEPTH;
+        checkpoints = EnumSet.noneOf(Checkpoint.class);
         this.attributes = Objects.requireNonNull(attributes);
         ServiceCollection<Analyst> analystCollection = null;
         try {
@@ -95,6 +124,42 @@ public class RuleEngineConfiguration extends AbstractComposedJobConfiguration im
         if (attributeMap.get(RULE_ENGINE_SELECTED_RULES) != null) {
             setSelectedRules(parseRules((Set<String>) attributeMap.get(RULE_ENGINE_SELECTED_RULES)));
         }
+        if (attributeMap.get(RULE_ENGINE_LAZY_SEFF_STUBS) != null) {
+            setLazySeffStubs((Boolean) attributeMap.get(RULE_ENGINE_LAZY_SEFF_STUBS));
+        }
+        if (attributeMap.get(RULE_ENGINE_DEDUPLICATE_TYPES) != null) {
+            setDeduplicateTypes((Boolean) attributeMap.get(RULE_ENGINE_DEDUPLICATE_TYPES));
+        }
+        if (attributeMap.get(RULE_ENGINE_COMPOSITE_TYPE_DEPTH) != null) {
+            setCompositeTypeDepth((Integer) attributeMap.get(RULE_ENGINE_COMPOSITE_TYPE_DEPTH));
+        }
+        if (attributeMap.get(RULE_ENGINE_SKIP_INTERMEDIATE_REPOSITORY) != null) {
+            setSkipIntermediateRepository((Boolean) attributeMap.get(RULE_ENGINE_SKIP_INTERMEDIATE_REPOSITORY));
+        }
+        if (attributeMap.get(RULE_ENGINE_MODEL_FORMAT) != null) {
+            setModelFormat(ModelFormat.valueOf((String) attributeMap.get(RULE_ENGINE_MODEL_FORMAT)));
+        }
+        if (attributeMap.get(RULE_ENGINE_CHECKPOINTS) != null) {
+            setCheckpoints(parseCheckpoints((Set<String>) attributeMap.get(RULE_ENGINE_CHECKPOINTS)));
+        }
+        if (attributeMap.get(RULE_ENGINE_RESUME) != null) {
+            setResume((Boolean) attributeMap.get(RULE_ENGINE_RESUME));
+        }
+        if (attributeMap.get(RULE_ENGINE_SPLIT_PLANTUML) != null) {
+            setSplitPlantUml((Boolean) attributeMap.get(RULE_ENGINE_SPLIT_PLANTUML));
+        }
+        if (attributeMap.get(RULE_ENGINE_MOCORE_CONCURRENT) != null) {
+            setConcurrentMoCoReTransformation((Boolean) attributeMap.get(RULE_ENGINE_MOCORE_CONCURRENT));
+        }
+        if (attributeMap.get(RULE_ENGINE_MOCORE_BATCHED) != null) {
+            setBatchedMoCoReOrchestration((Boolean) attributeMap.get(RULE_ENGINE_MOCORE_BATCHED));
+        }
+        if (attributeMap.get(RULE_ENGINE_MOCORE_COALESCED) != null) {
+            setCoalescedMoCoRePlaceholders((Boolean) attributeMap.get(RULE_ENGINE_MOCORE_COALESCED));
+        }
+        if (attributeMap.get(RULE_ENGINE_RELEASE_ANALYSIS_DATA) != null) {
+            setReleaseAnalysisData((Boolean) attributeMap.get(RULE_ENGINE_RELEASE_ANALYSIS_DATA));
+        }
 
         analystConfig.applyAttributeMap(attributeMap);
         discovererConfig.applyAttributeMap(attributeMap);
@@ -126,6 +191,144 @@ public class RuleEngineConfiguration extends AbstractComposedJobConfiguration im
         return discovererConfig;
     }
 
+    /**
+     * Whether SEFF stubs are only created for operations that are provided by a component.
+     */
+    public boolean isLazySeffStubs() {
+        return lazySeffStubs;
+    }
+
+    public void setLazySeffStubs(boolean lazySeffStubs) {
+        this.lazySeffStubs = lazySeffStubs;
+    }
+
+    /**
+     * Whether structurally equal data and failure types are merged into a single type in the output
+     * repository.
+     */
+    public boolean isDeduplicateTypes() {
+        return deduplicateTypes;
+    }
+
+    public void setDeduplicateTypes(boolean deduplicateTypes) {
+        this.deduplicateTypes = deduplicateTypes;
+    }
+
+    /**
+     * How many levels of fields are extracted into the inner declarations of composite data types.
+     */
+    public int getCompositeTypeDepth() {
+        return compositeTypeDepth;
+    }
+
+    public void setCompositeTypeDepth(int compositeTypeDepth) {
+        if (compositeTypeDepth < 0) {
+            throw new IllegalArgumentException("The composite type depth must not be negative");
+        }
+        this.compositeTypeDepth = compositeTypeDepth;
+    }
+
+    /**
+     * Whether the intermediate repository of the rule engine is kept in memory only, instead of
+     * being saved as {@code pcm.repository}.
+     */
+    public boolean isSkipIntermediateRepository() {
+        return skipIntermediateRepository;
+    }
+
+    public void setSkipIntermediateRepository(boolean skipIntermediateRepository) {
+        this.skipIntermediateRepository = skipIntermediateRepository;
+    }
+
+    public ModelFormat getModelFormat() {
+        return modelFormat;
+    }
+
+    public void setModelFormat(ModelFormat modelFormat) {
+        this.modelFormat = Objects.requireNonNull(modelFormat);
+    }
+
+    /**
+     * The stages after which the blackboard is saved in the output folder.
+     */
+    public Set<Checkpoint> getCheckpoints() {
+        return checkpoints;
+    }
+
+    public void setCheckpoints(Set<Checkpoint> checkpoints) {
+        this.checkpoints.clear();
+        this.checkpoints.addAll(checkpoints);
+    }
+
+    /**
+     * Whether the analysis starts from the latest checkpoint in the output folder, if there is
+     * one.
+     */
+    public boolean isResume() {
+        return resume;
+    }
+
+    public void setResume(boolean resume) {
+        this.resume = resume;
+    }
+
+    /**
+     * Whether a separate component diagram is generated for every composite component.
+     */
+    public boolean isSplitPlantUml() {
+        return splitPlantUml;
+    }
+
+    public void setSplitPlantUml(boolean splitPlantUml) {
+        this.splitPlantUml = splitPlantUml;
+    }
+
+    /**
+     * Whether MoCoRe transforms the resource environment concurrently to the repository and system.
+     */
+    public boolean isConcurrentMoCoReTransformation() {
+        return concurrentMoCoReTransformation;
+    }
+
+    public void setConcurrentMoCoReTransformation(boolean concurrentMoCoReTransformation) {
+        this.concurrentMoCoReTransformation = concurrentMoCoReTransformation;
+    }
+
+    /**
+     * Whether MoCoRe adds all discoveries to its surrogate model before refining them.
+     */
+    public boolean isBatchedMoCoReOrchestration() {
+        return batchedMoCoReOrchestration;
+    }
+
+    public void setBatchedMoCoReOrchestration(boolean batchedMoCoReOrchestration) {
+        this.batchedMoCoReOrchestration = batchedMoCoReOrchestration;
+    }
+
+    /**
+     * Whether MoCoRe allocates all unallocated components to a single default container, linked by a single default
+     * link specification.
+     */
+    public boolean isCoalescedMoCoRePlaceholders() {
+        return coalescedMoCoRePlaceholders;
+    }
+
+    public void setCoalescedMoCoRePlaceholders(boolean coalescedMoCoRePlaceholders) {
+        this.coalescedMoCoRePlaceholders = coalescedMoCoRePlaceholders;
+    }
+
+    /**
+     * Whether the discovered files, ASTs and SEFF associations are dropped from the blackboard as
+     * soon as the analysis no longer needs them, instead of staying available after the workflow.
+     */
+    public boolean isReleaseAnalysisData() {
+        return releaseAnalysisData;
+    }
+
+    public void setReleaseAnalysisData(boolean releaseAnalysisData) {
+        this.releaseAnalysisData = releaseAnalysisData;
+    }
+
     public void setInputFolder(URI inputFolder) {
         this.inputFolder = inputFolder;
     }
@@ -140,6 +343,18 @@ public class RuleEngineConfiguration extends AbstractComposedJobConfiguration im
         result.put(RULE_ENGINE_INPUT_PATH, getInputFolder());
         result.put(RULE_ENGINE_OUTPUT_PATH, getOutputFolder());
         result.put(RULE_ENGINE_SELECTED_RULES, serializeRules(rules));
+        result.put(RULE_ENGINE_LAZY_SEFF_STUBS, isLazySeffStubs());
+        result.put(RULE_ENGINE_DEDUPLICATE_TYPES, isDeduplicateTypes());
+        result.put(RULE_ENGINE_COMPOSITE_TYPE_DEPTH, getCompositeTypeDepth());
+        result.put(RULE_ENGINE_SKIP_INTERMEDIATE_REPOSITORY, isSkipIntermediateRepository());
+        result.put(RULE_ENGINE_MODEL_FORMAT, getModelFormat().name());
+        result.put(RULE_ENGINE_CHECKPOINTS, serializeCheckpoints(checkpoints));
+        result.put(RULE_ENGINE_RESUME, isResume());
+        result.put(RULE_ENGINE_SPLIT_PLANTUML, isSplitPlantUml());
+        result.put(RULE_ENGINE_MOCORE_CONCURRENT, isConcurrentMoCoReTransformation());
+        result.put(RULE_ENGINE_MOCORE_BATCHED, isBatchedMoCoReOrchestration());
+        result.put(RULE_ENGINE_MOCORE_COALESCED, isCoalescedMoCoRePlaceholders());
+        result.put(RULE_ENGINE_RELEASE_ANALYSIS_DATA, isReleaseAnalysisData());
         result.putAll(analystConfig.toMap());
         result.putAll(discovererConfig.toMap());
 
@@ -165,4 +380,20 @@ public class RuleEngineConfiguration extends AbstractComposedJobConfiguration im
         }
         return strRules;
     }
+
+    public static Set<Checkpoint> parseCheckpoints(Iterable<String> strCheckpoints) {
+        Set<Checkpoint> checkpoints = EnumSet.noneOf(Checkpoint.class);
+        for (String checkpoint : strCheckpoints) {
+            checkpoints.add(Checkpoint.valueOf(checkpoint));
+        }
+        return checkpoints;
+    }
+
+    public static Set<String> serializeCheckpoints(Iterable<Checkpoint> checkpoints) {
+        Set<String> strCheckpoints = new HashSet<>();
+        for (Checkpoint checkpoint : checkpoints) {
+            strCheckpoints.add(checkpoint.toString());
+        }
+        return strCheckpoints;
+    }
 }
@@ -85,7 +85,8 @@ public class RuleEngineAnalyzer {
                 blackboard.putCompilationUnitLocation(unit, Path.of(path));
             }
 
-            executeWith(inPath, outPath, roots, rules, blackboard);
+            executeWith(inPath, outPath, roots, rules, blackboard, ruleEngineConfiguration.getCompositeTypeDepth(),
+                    ruleEngineConfiguration.isLazySeffStubs(), ruleEngineConfiguration.isSkipIntermediateRepository());
         } catch (Exception e) {
             throw new RuleEngineException("Analysis did not complete successfully", e);
         }
@@ -147,9 +148,16 @@ public class RuleEngineAnalyzer {
      *            the object containing the rules
      * @param blackboard
      *            the rule engine blackboard
+     * @param compositeTypeDepth
+     *            how many levels of fields are extracted into composite data types
+     * @param lazySeffStubs
+     *            whether SEFF stubs are only created for operations provided by a component
+     * @param skipIntermediateRepository
+     *            whether the repository is only put on the blackboard without saving it
      */
     private static void executeWith(Path projectPath, Path outPath, List<CompilationUnit> model, Set<DefaultRule> rules,
-            RuleEngineBlackboard blackboard) {
+            RuleEngineBlackboard blackboard, int compositeTypeDepth, boolean lazySeffStubs,
+            boolean skipIntermediateRepository) {
 
         // Set up blackboard
         blackboard.setPCMDetector(new PCMDetector());
@@ -211,7 +219,7 @@ public class RuleEngineAnalyzer {
         final DockerParser dockerParser = new DockerParser(projectPath, blackboard.getPCMDetector());
         final Map<String, Set<CompilationUnit>> mapping = dockerParser.getMapping();
 
-        pcm = new PCMInstanceCreator(blackboard).createPCM(mapping);
+        pcm = new PCMInstanceCreator(blackboard, compositeTypeDepth, lazySeffStubs).createPCM(mapping);
 
         // Create the build file systems
         Map<RepositoryComponent, CompilationUnit> repoCompLocations = blackboard.getRepositoryComponentLocations();
@@ -245,9 +253,11 @@ public class RuleEngineAnalyzer {
             }
         }
 
-        // Persist the repository at ./pcm.repository
+        // Persist the repository at ./pcm.repository, the final models are saved by the workflow
         blackboard.addPartition(RuleEngineConfiguration.RULE_ENGINE_BLACKBOARD_KEY_REPOSITORY, pcm);
-        ModelSaver.saveRepository(pcm, outPath.toString(), "pcm");
+        if (!skipIntermediateRepository) {
+            ModelSaver.saveRepository(pcm, outPath.toString(), "pcm");
+        }
     }
 
     /**
@@ -0,0 +1,284 @@
+package org.palladiosimulator.somox.analyzer.rules.workflow;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.log4j.Logger;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.emf.common.CommonPlugin;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.BinaryResourceImpl;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.palladiosimulator.somox.analyzer.rules.configuration.Checkpoint;
+import org.palladiosimulator.somox.analyzer.rules.configuration.RuleEngineConfiguration;
+
+import de.uka.ipd.sdq.workflow.blackboard.Blackboard;
+import de.uka.ipd.sdq.workflow.jobs.CleanupFailedException;
+import de.uka.ipd.sdq.workflow.jobs.IBlackboardInteractingJob;
+import de.uka.ipd.sdq.workflow.jobs.JobFailedException;
+import de.uka.ipd.sdq.workflow.jobs.UserCanceledException;
+
+/**
+ * Saves the partitions of a checkpoint in the EMF binary format, or restores them when resuming.
+ * A checkpoint only counts as existing once all of its partitions have been written. Its marker
+ * stores the fingerprint of the run that wrote it, so that a run with other inputs or another
+ * configuration does not resume from it.
+ */
+public class CheckpointJob implements IBlackboardInteractingJob<Blackboard<Object>> {
+    private static final Logger LOG = Logger.getLogger(CheckpointJob.class);
+
+    private static final String JOB_NAME = "Checkpoint Job";
+    private static final String CHECKPOINT_FOLDER = "checkpoints";
+    private static final String COMPLETE_MARKER = "complete";
+    private static final String FILE_EXTENSION = ".bin";
+    // Options that only control checkpointing itself and do not change the models
+    private static final List<String> UNFINGERPRINTED_KEYS = List.of(RuleEngineConfiguration.RULE_ENGINE_OUTPUT_PATH,
+            RuleEngineConfiguration.RULE_ENGINE_CHECKPOINTS, RuleEngineConfiguration.RULE_ENGINE_RESUME);
+
+    private Blackboard<Object> blackboard;
+    private final URI outputFolder;
+    private final Path folder;
+    private final Checkpoint checkpoint;
+    private final String fingerprint;
+    private final boolean restore;
+
+    /**
+     * @param fingerprint
+     *            the fingerprint of the current run, see {@link #fingerprint(RuleEngineConfiguration)}
+     * @param restore
+     *            whether the checkpoint is loaded onto the blackboard instead of saved
+     */
+    public CheckpointJob(Blackboard<Object> blackboard, URI outputFolder, Checkpoint checkpoint, String fingerprint,
+            boolean restore) {
+        this.blackboard = Objects.requireNonNull(blackboard);
+        this.outputFolder = Objects.requireNonNull(outputFolder);
+        this.folder = getFolder(outputFolder, checkpoint);
+        this.checkpoint = Objects.requireNonNull(checkpoint);
+        this.fingerprint = Objects.requireNonNull(fingerprint);
+        this.restore = restore;
+    }
+
+    /**
+     * Returns the latest checkpoint that has been saved completely in the output folder by a run
+     * with the given fingerprint.
+     *
+     * @return the checkpoint, or {@code null} if there is none
+     */
+    public static Checkpoint findLatest(URI outputFolder, String fingerprint) {
+        Checkpoint[] checkpoints = Checkpoint.values();
+        for (int i = checkpoints.length - 1; i >= 0; i--) {
+            Path marker = getFolder(outputFolder, checkpoints[i]).resolve(COMPLETE_MARKER);
+            if (fingerprint.equals(readMarker(marker))) {
+                return checkpoints[i];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Computes the fingerprint of a run from its configuration and the files in its input folder.
+     * Any change to the options, or to the name, size or modification time of an input file,
+     * changes the fingerprint.
+     */
+    public static String fingerprint(RuleEngineConfiguration configuration) {
+        Map<String, Object> options = new TreeMap<>(configuration.toMap());
+        options.keySet()
+            .removeAll(UNFINGERPRINTED_KEYS);
+        StringBuilder builder = new StringBuilder();
+        for (Map.Entry<String, Object> option : options.entrySet()) {
+            builder.append(option.getKey())
+                .append('=')
+                .append(normalize(option.getValue()))
+                .append('\n');
+        }
+
+        Path inputFolder = Paths.get(CommonPlugin.asLocalURI(configuration.getInputFolder())
+            .devicePath());
+        // The output folder may lie inside the input folder, but the checkpoints are no input
+        Path outputFolder = Paths.get(CommonPlugin.asLocalURI(configuration.getOutputFolder())
+            .devicePath())
+            .toAbsolutePath()
+            .normalize();
+        try (Stream<Path> files = Files.walk(inputFolder)) {
+            for (Path file : files.filter(path -> !path.toAbsolutePath()
+                .normalize()
+                .startsWith(outputFolder))
+                .sorted()
+                .collect(Collectors.toList())) {
+                BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+                if (attributes.isRegularFile()) {
+                    builder.append(inputFolder.relativize(file))
+                        .append(' ')
+                        .append(attributes.size())
+                        .append(' ')
+                        .append(attributes.lastModifiedTime()
+                            .toMillis())
+                        .append('\n');
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read input folder " + inputFolder, e);
+        }
+
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of()
+                .formatHex(digest.digest(builder.toString()
+                    .getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String normalize(Object value) {
+        // Sets and maps from the configuration have no stable iteration order
+        if (value instanceof Collection) {
+            return ((Collection<?>) value).stream()
+                .map(CheckpointJob::normalize)
+                .sorted()
+                .collect(Collectors.joining(",", "[", "]"));
+        }
+        if (value instanceof Map) {
+            return ((Map<?, ?>) value).entrySet()
+                .stream()
+                .map(entry -> normalize(entry.getKey()) + "=" + normalize(entry.getValue()))
+                .sorted()
+                .collect(Collectors.joining(",", "{", "}"));
+        }
+        return String.valueOf(value);
+    }
+
+    private static String readMarker(Path marker) {
+        if (!Files.exists(marker)) {
+            return null;
+        }
+        try {
+            return Files.readString(marker, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            LOG.warn("Failed to read checkpoint marker " + marker, e);
+            return null;
+        }
+    }
+
+    private static Path getFolder(URI outputFolder, Checkpoint checkpoint) {
+        return Paths.get(CommonPlugin.asLocalURI(outputFolder)
+            .devicePath(), CHECKPOINT_FOLDER, checkpoint.name()
+                .toLowerCase());
+    }
+
+    @Override
+    public void execute(IProgressMonitor monitor) throws JobFailedException, UserCanceledException {
+        try {
+            if (restore) {
+                monitor.subTask("Restoring checkpoint " + checkpoint);
+                restore();
+            } else {
+                monitor.subTask("Saving checkpoint " + checkpoint);
+                save();
+            }
+        } catch (IOException e) {
+            throw new JobFailedException("Failed to access checkpoint " + checkpoint, e);
+        }
+        monitor.done();
+    }
+
+    private void save() throws IOException {
+        // Later checkpoints were derived from the previous state of this one, so they are invalid now
+        for (Checkpoint later : Checkpoint.values()) {
+            if (later.compareTo(checkpoint) > 0) {
+                Files.deleteIfExists(getFolder(outputFolder, later).resolve(COMPLETE_MARKER));
+            }
+        }
+
+        Path marker = folder.resolve(COMPLETE_MARKER);
+        Files.deleteIfExists(marker);
+        Files.createDirectories(folder);
+
+        // All models have to be in their resources before any of them is saved, otherwise the
+        // references between them cannot be resolved to the other files
+        ResourceSet resourceSet = new ResourceSetImpl();
+        Map<String, Resource> resources = new TreeMap<>();
+        for (String key : checkpoint.getKeys()) {
+            Object partition = blackboard.getPartition(key);
+            if (!(partition instanceof EObject)) {
+                LOG.warn("Skipping partition " + key + " of checkpoint " + checkpoint + ", it is not a model");
+                continue;
+            }
+            Resource resource = createResource(resourceSet, key);
+            resource.getContents()
+                .add((EObject) partition);
+            resources.put(key, resource);
+        }
+        for (Resource resource : resources.values()) {
+            resource.save(Map.of());
+        }
+        Files.writeString(marker, fingerprint, StandardCharsets.UTF_8);
+        LOG.info("Saved checkpoint " + checkpoint + " to " + folder);
+    }
+
+    private void restore() throws IOException {
+        ResourceSet resourceSet = new ResourceSetImpl();
+        Map<String, Resource> resources = new TreeMap<>();
+        for (String key : checkpoint.getKeys()) {
+            if (!Files.exists(folder.resolve(key + FILE_EXTENSION))) {
+                continue;
+            }
+            Resource resource = createResource(resourceSet, key);
+            resource.load(Map.of());
+            resources.put(key, resource);
+        }
+
+        // The models are moved into other resources later on, so no proxies may be left
+        EcoreUtil.resolveAll(resourceSet);
+        for (Map.Entry<String, Resource> entry : resources.entrySet()) {
+            blackboard.addPartition(entry.getKey(), entry.getValue()
+                .getContents()
+                .get(0));
+        }
+        LOG.info("Restored checkpoint " + checkpoint + " from " + folder);
+    }
+
+    private Resource createResource(ResourceSet resourceSet, String key) {
+        URI uri = URI.createFileURI(folder.resolve(key + FILE_EXTENSION)
+            .toAbsolutePath()
+            .toString());
+        Resource resource = new BinaryResourceImpl(uri);
+        resourceSet.getResources()
+            .add(resource);
+        return resource;
+    }
+
+    @Override
+    public void cleanup(IProgressMonitor monitor) throws CleanupFailedException {
+        // No cleanup required for the job
+    }
+
+    @Override
+    public String getName() {
+        return JOB_NAME + " (" + checkpoint + ")";
+    }
+
+    @Override
+    public void setBlackboard(Blackboard<Object> blackboard) {
+        this.blackboard = Objects.requireNonNull(blackboard);
+    }
+}
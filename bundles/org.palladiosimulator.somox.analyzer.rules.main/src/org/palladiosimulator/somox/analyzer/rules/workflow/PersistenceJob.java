@@ -1,15 +1,24 @@
 package org.palladiosimulator.somox.analyzer.rules.workflow;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.stream.Collectors;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.emf.common.CommonPlugin;
 import org.eclipse.emf.common.util.URI;
-import org.palladiosimulator.generator.fluent.shared.util.ModelSaver;
-import org.palladiosimulator.pcm.allocation.Allocation;
-import org.palladiosimulator.pcm.repository.Repository;
-import org.palladiosimulator.pcm.resourceenvironment.ResourceEnvironment;
-import org.palladiosimulator.pcm.system.System;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.BinaryResourceImpl;
+import org.eclipse.emf.ecore.resource.impl.ResourceFactoryImpl;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emf.ecore.xmi.impl.XMIResourceFactoryImpl;
+import org.palladiosimulator.somox.analyzer.rules.configuration.ModelFormat;
 
 import de.uka.ipd.sdq.workflow.blackboard.Blackboard;
 import de.uka.ipd.sdq.workflow.jobs.CleanupFailedException;
@@ -27,10 +36,18 @@ public class PersistenceJob implements IBlackboardInteractingJob<Blackboard<Obje
     private final String resourceEnvironmentKey;
     private final String outputFolder;
     private final String projectName;
+    private final ModelFormat format;
 
     public PersistenceJob(Blackboard<Object> blackboard, URI inputFolder, URI outputFolder, String repositoryKey,
             String systemKey, String allocationKey, String resourceEnvironmentKey) {
+        this(blackboard, inputFolder, outputFolder, repositoryKey, systemKey, allocationKey, resourceEnvironmentKey,
+                ModelFormat.XMI);
+    }
+
+    public PersistenceJob(Blackboard<Object> blackboard, URI inputFolder, URI outputFolder, String repositoryKey,
+            String systemKey, String allocationKey, String resourceEnvironmentKey, ModelFormat format) {
         this.blackboard = Objects.requireNonNull(blackboard);
+        this.format = Objects.requireNonNull(format);
 
         this.repositoryKey = Objects.requireNonNull(repositoryKey);
         this.systemKey = Objects.requireNonNull(systemKey);
@@ -53,21 +70,51 @@ public class PersistenceJob implements IBlackboardInteractingJob<Blackboard<Obje
     public void execute(IProgressMonitor monitor) throws JobFailedException, UserCanceledException {
         // Fetch input from blackboard
         monitor.subTask("Retrieving job input from blackboard");
-        Repository repository = (Repository) this.blackboard.getPartition(repositoryKey);
-        System system = (System) this.blackboard.getPartition(systemKey);
-        ResourceEnvironment resourceEnvironment = (ResourceEnvironment) this.blackboard
-            .getPartition(resourceEnvironmentKey);
-        Allocation allocation = (Allocation) this.blackboard.getPartition(allocationKey);
+        Map<String, EObject> models = new LinkedHashMap<>();
+        models.put("repository", (EObject) this.blackboard.getPartition(repositoryKey));
+        models.put("system", (EObject) this.blackboard.getPartition(systemKey));
+        models.put("resourceenvironment", (EObject) this.blackboard.getPartition(resourceEnvironmentKey));
+        models.put("allocation", (EObject) this.blackboard.getPartition(allocationKey));
 
-        // Make blackboard models persistent by saving them as files
+        // All models have to be in their resources before any of them is saved, otherwise the
+        // references between them cannot be resolved to the other files
         monitor.subTask("Persisting models");
-        ModelSaver.saveRepository(repository, outputFolder, projectName);
-        ModelSaver.saveSystem(system, outputFolder, projectName);
-        ModelSaver.saveResourceEnvironment(resourceEnvironment, outputFolder, projectName);
-        ModelSaver.saveAllocation(allocation, outputFolder, projectName);
+        ResourceSet resourceSet = new ResourceSetImpl();
+        List<Resource> resources = models.entrySet()
+            .stream()
+            .map(model -> createResource(resourceSet, model.getKey(), model.getValue()))
+            .collect(Collectors.toList());
+
+        // Make blackboard models persistent by saving them as files. The resources share one
+        // resource set, which is not thread-safe, so they are saved one after another.
+        try {
+            for (Resource resource : resources) {
+                save(resource);
+            }
+        } catch (IOException e) {
+            throw new JobFailedException("Failed to persist models", e);
+        }
         monitor.done();
     }
 
+    private Resource createResource(ResourceSet resourceSet, String extension, EObject model) {
+        resourceSet.getResourceFactoryRegistry()
+            .getExtensionToFactoryMap()
+            .put(extension, format == ModelFormat.BINARY ? new BinaryResourceFactory() : new XMIResourceFactoryImpl());
+        URI uri = URI.createFileURI(Path.of(outputFolder, projectName + "." + extension)
+            .toAbsolutePath()
+            .toString());
+        Resource resource = resourceSet.createResource(uri);
+        resource.getContents()
+            .add(model);
+        return resource;
+    }
+
+    private void save(Resource resource) throws IOException {
+        Map<Object, Object> options = Map.of(Resource.OPTION_ZIP, format == ModelFormat.COMPRESSED_XMI);
+        resource.save(options);
+    }
+
     @Override
     public void cleanup(IProgressMonitor monitor) throws CleanupFailedException {
         // No cleanup required for the job
@@ -82,4 +129,11 @@ public class PersistenceJob implements IBlackboardInteractingJob<Blackboard<Obje
     public void setBlackboard(Blackboard<Object> blackboard) {
         this.blackboard = Objects.requireNonNull(blackboard);
     }
+
+    private static final class BinaryResourceFactory extends ResourceFactoryImpl {
+        @Override
+        public Resource createResource(URI uri) {
+            return new BinaryResourceImpl(uri);
+        }
+    }
 }
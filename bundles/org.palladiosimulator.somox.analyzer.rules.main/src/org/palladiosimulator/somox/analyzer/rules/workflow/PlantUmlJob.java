@@ -1,18 +1,46 @@
 package org.palladiosimulator.somox.analyzer.rules.workflow;
 
 import java.io.ByteArrayInputStream;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import org.apache.log4j.Logger;
 import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IResource;
 import org.eclipse.core.resources.IWorkspaceRoot;
 import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.Path;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.util.EcoreUtil.Copier;
+import org.palladiosimulator.pcm.core.composition.AssemblyContext;
+import org.palladiosimulator.pcm.repository.CompositeComponent;
+import org.palladiosimulator.pcm.repository.Interface;
+import org.palladiosimulator.pcm.repository.OperationProvidedRole;
+import org.palladiosimulator.pcm.repository.OperationRequiredRole;
+import org.palladiosimulator.pcm.repository.ProvidedRole;
 import org.palladiosimulator.pcm.repository.Repository;
+import org.palladiosimulator.pcm.repository.RepositoryComponent;
+import org.palladiosimulator.pcm.repository.RepositoryFactory;
+import org.palladiosimulator.pcm.repository.RepositoryPackage;
+import org.palladiosimulator.pcm.repository.RequiredRole;
 import org.palladiosimulator.somox.analyzer.rules.blackboard.RuleEngineBlackboard;
 import org.palladiosimulator.somox.analyzer.rules.configuration.RuleEngineConfiguration;
 import org.palladiosimulator.view.plantuml.generator.PcmComponentDiagramGenerator;
@@ -27,6 +55,10 @@ public class PlantUmlJob extends AbstractBlackboardInteractingJob<RuleEngineBlac
     private static final Logger LOG = Logger.getLogger(PlantUmlJob.class);
 
     private static final String NAME = "Rule Engine PlantUML Generation";
+    private static final String FILE_NAME = "componentDiagram";
+    private static final String FILE_EXTENSION = ".puml";
+    private static final String DIAGRAM_START = "@startuml\n";
+    private static final String DIAGRAM_END = "\n@enduml\n";
 
     private final RuleEngineConfiguration configuration;
 
@@ -41,35 +73,158 @@ public class PlantUmlJob extends AbstractBlackboardInteractingJob<RuleEngineBlac
 
     @Override
     public void execute(IProgressMonitor arg0) throws JobFailedException, UserCanceledException {
-        PcmComponentDiagramGenerator generator = new PcmComponentDiagramGenerator((Repository) getBlackboard()
-            .getPartition(RuleEngineConfiguration.RULE_ENGINE_BLACKBOARD_KEY_REPOSITORY));
-        String plantUmlSource = "@startuml\n" + generator.getDiagramText() + "\n@enduml\n";
+        Repository repository = (Repository) getBlackboard()
+            .getPartition(RuleEngineConfiguration.RULE_ENGINE_BLACKBOARD_KEY_REPOSITORY);
+        if (!configuration.isSplitPlantUml()) {
+            write(FILE_NAME + FILE_EXTENSION, repository);
+            return;
+        }
+
+        // One diagram per composite component, and one for all components outside of composites
+        List<CompositeComponent> composites = repository.getComponents__Repository()
+            .stream()
+            .filter(CompositeComponent.class::isInstance)
+            .map(CompositeComponent.class::cast)
+            .collect(Collectors.toList());
+        Set<RepositoryComponent> nestedComponents = new LinkedHashSet<>();
+        for (CompositeComponent composite : composites) {
+            Set<RepositoryComponent> components = collectComponents(composite);
+            components.remove(composite);
+            nestedComponents.addAll(components);
+        }
+        Map<CompositeComponent, String> fileNames = toFileNames(composites);
+        composites.parallelStream()
+            .forEach(composite -> write(fileNames.get(composite), extract(repository, collectComponents(composite))));
+        write(FILE_NAME + FILE_EXTENSION, extract(repository, repository.getComponents__Repository()
+            .stream()
+            .filter(component -> !nestedComponents.contains(component))
+            .collect(Collectors.toList())));
+    }
+
+    private static Set<RepositoryComponent> collectComponents(CompositeComponent composite) {
+        Set<RepositoryComponent> components = new LinkedHashSet<>();
+        Deque<RepositoryComponent> queue = new ArrayDeque<>();
+        queue.add(composite);
+        while (!queue.isEmpty()) {
+            RepositoryComponent component = queue.poll();
+            if (!components.add(component) || !(component instanceof CompositeComponent)) {
+                continue;
+            }
+            for (AssemblyContext assemblyContext : ((CompositeComponent) component)
+                .getAssemblyContexts__ComposedStructure()) {
+                RepositoryComponent encapsulatedComponent = assemblyContext.getEncapsulatedComponent__AssemblyContext();
+                if (encapsulatedComponent != null) {
+                    queue.add(encapsulatedComponent);
+                }
+            }
+        }
+        return components;
+    }
+
+    /**
+     * Copies the components and their interfaces into a new repository, so that the generator only
+     * sees them. The original repository is not modified.
+     */
+    private static Repository extract(Repository repository, Collection<RepositoryComponent> components) {
+        Set<Interface> interfaces = new LinkedHashSet<>();
+        for (RepositoryComponent component : components) {
+            for (ProvidedRole role : component.getProvidedRoles_InterfaceProvidingEntity()) {
+                if (role instanceof OperationProvidedRole) {
+                    interfaces.add(((OperationProvidedRole) role).getProvidedInterface__OperationProvidedRole());
+                }
+            }
+            for (RequiredRole role : component.getRequiredRoles_InterfaceRequiringEntity()) {
+                if (role instanceof OperationRequiredRole) {
+                    interfaces.add(((OperationRequiredRole) role).getRequiredInterface__OperationRequiredRole());
+                }
+            }
+        }
+        interfaces.remove(null);
+
+        // The diagram only shows roles & assemblies, so the SEFFs are not copied along
+        EReference seffs = RepositoryPackage.Literals.BASIC_COMPONENT__SERVICE_EFFECT_SPECIFICATIONS_BASIC_COMPONENT;
+        Copier copier = new Copier() {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected void copyContainment(EReference reference, EObject object, EObject copyEObject) {
+                if (reference != seffs) {
+                    super.copyContainment(reference, object, copyEObject);
+                }
+            }
+        };
+        Repository partialRepository = RepositoryFactory.eINSTANCE.createRepository();
+        partialRepository.setEntityName(repository.getEntityName());
+        for (RepositoryComponent component : components) {
+            partialRepository.getComponents__Repository()
+                .add((RepositoryComponent) copier.copy(component));
+        }
+        for (Interface interFace : interfaces) {
+            partialRepository.getInterfaces__Repository()
+                .add((Interface) copier.copy(interFace));
+        }
+        // References to elements outside of the extract keep pointing to the originals
+        copier.copyReferences();
+        return partialRepository;
+    }
+
+    /**
+     * Assigns every composite its own file name. Names that only differ in replaced characters or in
+     * case get a numeric suffix, so that no diagram overwrites another one.
+     */
+    private static Map<CompositeComponent, String> toFileNames(List<CompositeComponent> composites) {
+        Map<CompositeComponent, String> fileNames = new HashMap<>();
+        Set<String> usedNames = new HashSet<>();
+        for (CompositeComponent composite : composites) {
+            String name = composite.getEntityName() == null ? "unnamed"
+                    : composite.getEntityName()
+                        .replaceAll("[^A-Za-z0-9._-]", "_");
+            String fileName = FILE_NAME + "_" + name;
+            for (int suffix = 2; !usedNames.add(fileName.toLowerCase(Locale.ROOT)); suffix++) {
+                fileName = FILE_NAME + "_" + name + "_" + suffix;
+            }
+            fileNames.put(composite, fileName + FILE_EXTENSION);
+        }
+        return fileNames;
+    }
+
+    private void write(String fileName, Repository repository) {
+        PcmComponentDiagramGenerator generator = new PcmComponentDiagramGenerator(repository);
+        String plantUmlSource = DIAGRAM_START + generator.getDiagramText() + DIAGRAM_END;
 
         if (configuration.getOutputFolder()
             .isPlatformResource()) {
             IWorkspaceRoot root = ResourcesPlugin.getWorkspace()
                 .getRoot();
             IFile file = root.getFile(new Path(configuration.getOutputFolder()
-                .appendSegment("componentDiagram.puml")
+                .appendSegment(fileName)
                 .toPlatformString(true)));
-            try {
-                if (!file.exists()) {
-                    file.create(new ByteArrayInputStream(new byte[0]), IFile.FORCE, null);
-                }
-                file.setContents(new ByteArrayInputStream(plantUmlSource.getBytes()), IFile.FORCE, null);
-            } catch (CoreException e) {
-                LOG.error(e);
-            }
-
+            writeWorkspaceFile(file, plantUmlSource);
         } else {
             String path = configuration.getOutputFolder()
-                .appendSegment("componentDiagram.puml")
+                .appendSegment(fileName)
                 .devicePath();
-            try (FileWriter writer = new FileWriter(path)) {
-                writer.append(plantUmlSource);
-            } catch (IOException e) {
-                LOG.error(e);
+            writeFile(path, plantUmlSource);
+        }
+    }
+
+    private static void writeWorkspaceFile(IFile file, String plantUmlSource) {
+        try (InputStream contents = new ByteArrayInputStream(plantUmlSource.getBytes(StandardCharsets.UTF_8))) {
+            if (file.exists()) {
+                file.setContents(contents, IResource.FORCE, null);
+            } else {
+                file.create(contents, IResource.FORCE, null);
             }
+        } catch (CoreException | IOException e) {
+            LOG.error("Cannot write " + file.getFullPath(), e);
+        }
+    }
+
+    private static void writeFile(String path, String plantUmlSource) {
+        try {
+            Files.writeString(Paths.get(path), plantUmlSource, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            LOG.error(e);
         }
     }
 
@@ -77,5 +232,4 @@ public class PlantUmlJob extends AbstractBlackboardInteractingJob<RuleEngineBlac
     public String getName() {
         return NAME;
     }
-
 }
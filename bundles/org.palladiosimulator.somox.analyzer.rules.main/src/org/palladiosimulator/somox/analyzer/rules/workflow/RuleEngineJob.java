@@ -1,9 +1,16 @@
 package org.palladiosimulator.somox.analyzer.rules.workflow;
 
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
 import org.palladiosimulator.somox.analyzer.rules.blackboard.RuleEngineBlackboard;
+import org.palladiosimulator.somox.analyzer.rules.configuration.Checkpoint;
 import org.palladiosimulator.somox.analyzer.rules.configuration.RuleEngineConfiguration;
 import org.palladiosimulator.somox.analyzer.rules.mocore.workflow.MoCoReJob;
 import org.palladiosimulator.somox.analyzer.rules.service.Analyst;
+import org.palladiosimulator.somox.analyzer.rules.service.Service;
 import org.palladiosimulator.somox.ast2seff.jobs.Ast2SeffJob;
 import org.palladiosimulator.somox.discoverer.Discoverer;
 
@@ -13,42 +20,160 @@ import de.uka.ipd.sdq.workflow.jobs.ParallelJob;
 
 public class RuleEngineJob extends AbstractExtendableJob<RuleEngineBlackboard> {
 
+    private static final Set<String> MOCORE_OUTPUT_KEYS = Set.of(
+            RuleEngineConfiguration.RULE_ENGINE_MOCORE_OUTPUT_REPOSITORY,
+            RuleEngineConfiguration.RULE_ENGINE_MOCORE_OUTPUT_SYSTEM,
+            RuleEngineConfiguration.RULE_ENGINE_MOCORE_OUTPUT_ALLOCATION,
+            RuleEngineConfiguration.RULE_ENGINE_MOCORE_OUTPUT_RESOURCE_ENVIRONMENT);
+
+    private final StageSchedulerJob stages;
+
     public RuleEngineJob(RuleEngineConfiguration configuration) {
         super.setBlackboard(new RuleEngineBlackboard());
 
-        super.add(createDiscoverersJob(configuration));
+        // Stages only wait for the stages whose blackboard keys they depend on
+        stages = new StageSchedulerJob();
 
-        super.add(new RuleEngineBlackboardInteractingJob(configuration, getBlackboard()));
-
-        super.add(createAnalystsJob(configuration));
+        // Skip all stages up to the latest checkpoint of an identical run when resuming
+        String fingerprint = null;
+        if (configuration.isResume() || !configuration.getCheckpoints()
+            .isEmpty()) {
+            fingerprint = CheckpointJob.fingerprint(configuration);
+        }
+        Checkpoint resumedCheckpoint = null;
+        if (configuration.isResume()) {
+            resumedCheckpoint = CheckpointJob.findLatest(configuration.getOutputFolder(), fingerprint);
+        }
+        if (resumedCheckpoint != null) {
+            logger.info("Resuming from checkpoint " + resumedCheckpoint);
+            stages.add(new CheckpointJob(getBlackboard(), configuration.getOutputFolder(), resumedCheckpoint,
+                    fingerprint, true), Set.of(), resumedCheckpoint.getKeys());
+        }
 
-        // Generate service effect specifications based on AST nodes and merge them into repository
-        super.add(new Ast2SeffJob(getBlackboard(), RuleEngineConfiguration.RULE_ENGINE_BLACKBOARD_KEY_SEFF_ASSOCIATIONS,
-                RuleEngineConfiguration.RULE_ENGINE_AST2SEFF_OUTPUT_REPOSITORY));
-        super.add(new SeffMergerJob(myBlackboard, RuleEngineConfiguration.RULE_ENGINE_AST2SEFF_OUTPUT_REPOSITORY,
-                RuleEngineConfiguration.RULE_ENGINE_BLACKBOARD_KEY_REPOSITORY));
+        if (isBefore(resumedCheckpoint, Checkpoint.REPOSITORY)) {
+            addAnalysisStages(stages, configuration);
+            addCheckpoint(stages, configuration, Checkpoint.REPOSITORY, fingerprint);
+        }
 
-        // Refine model and create final repository, system, allocation, & resource environment
-        super.add(new MoCoReJob(getBlackboard(),
-                RuleEngineConfiguration.RULE_ENGINE_BLACKBOARD_KEY_REPOSITORY,
-                RuleEngineConfiguration.RULE_ENGINE_MOCORE_OUTPUT_REPOSITORY,
-                RuleEngineConfiguration.RULE_ENGINE_MOCORE_OUTPUT_SYSTEM,
-                RuleEngineConfiguration.RULE_ENGINE_MOCORE_OUTPUT_ALLOCATION,
-                RuleEngineConfiguration.RULE_ENGINE_MOCORE_OUTPUT_RESOURCE_ENVIRONMENT));
+        if (isBefore(resumedCheckpoint, Checkpoint.MOCORE_OUTPUT)) {
+            // Refine model and create final repository, system, allocation, & resource environment
+            // The SEFFs of the input repository are moved into the output components
+            Set<String> mocoreWriteKeys = new HashSet<>(MOCORE_OUTPUT_KEYS);
+            mocoreWriteKeys.add(RuleEngineConfiguration.RULE_ENGINE_BLACKBOARD_KEY_REPOSITORY);
+            stages.add(new MoCoReJob(getBlackboard(),
+                    RuleEngineConfiguration.RULE_ENGINE_BLACKBOARD_KEY_REPOSITORY,
+                    RuleEngineConfiguration.RULE_ENGINE_MOCORE_OUTPUT_REPOSITORY,
+                    RuleEngineConfiguration.RULE_ENGINE_MOCORE_OUTPUT_SYSTEM,
+                    RuleEngineConfiguration.RULE_ENGINE_MOCORE_OUTPUT_ALLOCATION,
+                    RuleEngineConfiguration.RULE_ENGINE_MOCORE_OUTPUT_RESOURCE_ENVIRONMENT,
+                    new MoCoReJob.Options()
+                        .withConcurrentTransformation(configuration.isConcurrentMoCoReTransformation())
+                        .withBatchedOrchestration(configuration.isBatchedMoCoReOrchestration())
+                        .withCoalescedPlaceholders(configuration.isCoalescedMoCoRePlaceholders())),
+                    Set.of(RuleEngineConfiguration.RULE_ENGINE_BLACKBOARD_KEY_REPOSITORY), mocoreWriteKeys);
+            addCheckpoint(stages, configuration, Checkpoint.MOCORE_OUTPUT, fingerprint);
+        }
 
         // Merge data & failure types into output repository
-        super.add(new TypeMergerJob(getBlackboard(),
+        // The types are moved, so the source repository is modified as well
+        stages.add(new TypeMergerJob(getBlackboard(),
                 RuleEngineConfiguration.RULE_ENGINE_BLACKBOARD_KEY_REPOSITORY,
-                RuleEngineConfiguration.RULE_ENGINE_MOCORE_OUTPUT_REPOSITORY));
+                RuleEngineConfiguration.RULE_ENGINE_MOCORE_OUTPUT_REPOSITORY, configuration.isDeduplicateTypes()),
+                Set.of(RuleEngineConfiguration.RULE_ENGINE_BLACKBOARD_KEY_REPOSITORY,
+                        RuleEngineConfiguration.RULE_ENGINE_MOCORE_OUTPUT_REPOSITORY),
+                Set.of(RuleEngineConfiguration.RULE_ENGINE_BLACKBOARD_KEY_REPOSITORY,
+                        RuleEngineConfiguration.RULE_ENGINE_MOCORE_OUTPUT_REPOSITORY));
 
         // Persist repository, system, allocation, & resource environment model from blackboard into file system
-        super.add(new PersistenceJob(getBlackboard(), configuration.getInputFolder(), configuration.getOutputFolder(),
+        // Saving attaches the models to resources, including the SEFFs & types moved out of the rule engine
+        // repository, so no other stage may access them meanwhile
+        Set<String> persistenceWriteKeys = new HashSet<>(MOCORE_OUTPUT_KEYS);
+        persistenceWriteKeys.add(RuleEngineConfiguration.RULE_ENGINE_BLACKBOARD_KEY_REPOSITORY);
+        stages.add(new PersistenceJob(getBlackboard(), configuration.getInputFolder(), configuration.getOutputFolder(),
                 RuleEngineConfiguration.RULE_ENGINE_MOCORE_OUTPUT_REPOSITORY,
                 RuleEngineConfiguration.RULE_ENGINE_MOCORE_OUTPUT_SYSTEM,
                 RuleEngineConfiguration.RULE_ENGINE_MOCORE_OUTPUT_ALLOCATION,
-                RuleEngineConfiguration.RULE_ENGINE_MOCORE_OUTPUT_RESOURCE_ENVIRONMENT));
+                RuleEngineConfiguration.RULE_ENGINE_MOCORE_OUTPUT_RESOURCE_ENVIRONMENT, configuration.getModelFormat()),
+                MOCORE_OUTPUT_KEYS, persistenceWriteKeys);
+
+        stages.add(new PlantUmlJob(configuration, getBlackboard()),
+                Set.of(RuleEngineConfiguration.RULE_ENGINE_BLACKBOARD_KEY_REPOSITORY), Set.of());
+
+        super.add(stages);
+    }
+
+    /**
+     * @return the stages of the workflow, so that their order can be checked
+     */
+    public StageSchedulerJob getStages() {
+        return stages;
+    }
+
+    private void addAnalysisStages(StageSchedulerJob stages, RuleEngineConfiguration configuration) {
+        Set<String> discovererKeys = getServiceKeys(configuration.getDiscovererConfig()
+            .getSelected());
+        stages.add(createDiscoverersJob(configuration), Set.of(), discovererKeys);
+
+        stages.add(new RuleEngineBlackboardInteractingJob(configuration, getBlackboard()), discovererKeys,
+                Set.of(RuleEngineConfiguration.RULE_ENGINE_BLACKBOARD_KEY_REPOSITORY,
+                        RuleEngineConfiguration.RULE_ENGINE_BLACKBOARD_KEY_SEFF_ASSOCIATIONS));
+
+        // Analysts process the generated model and store their results under their own keys. They
+        // get the whole blackboard, so they may read everything the analysis produced so far.
+        Set<String> analystKeys = getServiceKeys(configuration.getAnalystConfig()
+            .getSelected());
+        Set<String> analystReadKeys = new HashSet<>(discovererKeys);
+        analystReadKeys.add(RuleEngineConfiguration.RULE_ENGINE_BLACKBOARD_KEY_REPOSITORY);
+        analystReadKeys.add(RuleEngineConfiguration.RULE_ENGINE_BLACKBOARD_KEY_SEFF_ASSOCIATIONS);
+        stages.add(createAnalystsJob(configuration), analystReadKeys, analystKeys);
+
+        // Generate service effect specifications based on AST nodes and merge them into repository
+        stages.add(
+                new Ast2SeffJob(getBlackboard(), RuleEngineConfiguration.RULE_ENGINE_BLACKBOARD_KEY_SEFF_ASSOCIATIONS,
+                        RuleEngineConfiguration.RULE_ENGINE_AST2SEFF_OUTPUT_REPOSITORY),
+                Set.of(RuleEngineConfiguration.RULE_ENGINE_BLACKBOARD_KEY_SEFF_ASSOCIATIONS),
+                Set.of(RuleEngineConfiguration.RULE_ENGINE_AST2SEFF_OUTPUT_REPOSITORY));
+        stages.add(
+                new SeffMergerJob(myBlackboard, RuleEngineConfiguration.RULE_ENGINE_AST2SEFF_OUTPUT_REPOSITORY,
+                        RuleEngineConfiguration.RULE_ENGINE_BLACKBOARD_KEY_REPOSITORY),
+                Set.of(RuleEngineConfiguration.RULE_ENGINE_AST2SEFF_OUTPUT_REPOSITORY),
+                Set.of(RuleEngineConfiguration.RULE_ENGINE_BLACKBOARD_KEY_REPOSITORY));
+
+        if (!configuration.isReleaseAnalysisData()) {
+            return;
+        }
+
+        // Release the discovered files and ASTs once the analysis is done, the models do not need them
+        for (String discovererKey : discovererKeys) {
+            stages.releaseAfter(Set.of(discovererKey), () -> getBlackboard().removePartition(discovererKey));
+        }
+        stages.releaseAfter(Set.of(RuleEngineConfiguration.RULE_ENGINE_AST2SEFF_OUTPUT_REPOSITORY),
+                () -> getBlackboard().removePartition(RuleEngineConfiguration.RULE_ENGINE_AST2SEFF_OUTPUT_REPOSITORY));
+        Set<String> astKeys = new HashSet<>(analystKeys);
+        astKeys.addAll(discovererKeys);
+        astKeys.add(RuleEngineConfiguration.RULE_ENGINE_BLACKBOARD_KEY_SEFF_ASSOCIATIONS);
+        stages.releaseAfter(astKeys, () -> getBlackboard().releaseCompilationUnits());
+    }
+
+    private void addCheckpoint(StageSchedulerJob stages, RuleEngineConfiguration configuration,
+            Checkpoint checkpoint, String fingerprint) {
+        if (configuration.getCheckpoints()
+            .contains(checkpoint)) {
+            // Saving moves the models into resources, so no other stage may access them meanwhile
+            stages.add(new CheckpointJob(getBlackboard(), configuration.getOutputFolder(), checkpoint, fingerprint,
+                    false), checkpoint.getKeys(), checkpoint.getKeys());
+        }
+    }
+
+    private static boolean isBefore(Checkpoint resumedCheckpoint, Checkpoint checkpoint) {
+        return resumedCheckpoint == null || resumedCheckpoint.compareTo(checkpoint) < 0;
+    }
 
-        super.add(new PlantUmlJob(configuration, getBlackboard()));
+    private static Set<String> getServiceKeys(Collection<? extends Service> services) {
+        // Services store their results in the partition named by their ID
+        return services.stream()
+            .map(Service::getID)
+            .collect(Collectors.toSet());
     }
 
     private ParallelJob createDiscoverersJob(RuleEngineConfiguration configuration) {
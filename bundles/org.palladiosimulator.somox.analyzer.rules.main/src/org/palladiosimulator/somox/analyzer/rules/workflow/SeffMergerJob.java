@@ -1,19 +1,26 @@
 package org.palladiosimulator.somox.analyzer.rules.workflow;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
+import java.util.stream.Collectors;
 
 import org.apache.log4j.Logger;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.emf.common.util.EList;
 import org.palladiosimulator.pcm.repository.BasicComponent;
+import org.palladiosimulator.pcm.repository.Interface;
 import org.palladiosimulator.pcm.repository.OperationInterface;
 import org.palladiosimulator.pcm.repository.OperationProvidedRole;
 import org.palladiosimulator.pcm.repository.OperationRequiredRole;
 import org.palladiosimulator.pcm.repository.OperationSignature;
+import org.palladiosimulator.pcm.repository.ProvidedRole;
 import org.palladiosimulator.pcm.repository.Repository;
 import org.palladiosimulator.pcm.repository.RepositoryComponent;
+import org.palladiosimulator.pcm.repository.RequiredRole;
 import org.palladiosimulator.pcm.seff.AbstractAction;
 import org.palladiosimulator.pcm.seff.ExternalCallAction;
 import org.palladiosimulator.pcm.seff.ResourceDemandingSEFF;
@@ -49,130 +56,139 @@ public class SeffMergerJob implements IBlackboardInteractingJob<Blackboard<Objec
         Repository sourceRepository = (Repository) this.blackboard.getPartition(this.sourceSeffRepositoryKey);
         Repository destinationRepository = (Repository) this.blackboard.getPartition(this.destinationSeffRepositoryKey);
 
+        // Index destination components and signatures by name once, the first occurrence wins
+        monitor.subTask("Indexing destination repository");
+        Map<String, BasicComponent> destinationComponents = new HashMap<>();
+        for (RepositoryComponent component : destinationRepository.getComponents__Repository()) {
+            if (component instanceof BasicComponent) {
+                destinationComponents.putIfAbsent(component.getEntityName(), (BasicComponent) component);
+            }
+        }
+        Map<String, OperationSignature> destinationSignatures = new HashMap<>();
+        for (Interface interFace : destinationRepository.getInterfaces__Repository()) {
+            if (interFace instanceof OperationInterface) {
+                for (OperationSignature signature : ((OperationInterface) interFace)
+                    .getSignatures__OperationInterface()) {
+                    destinationSignatures.putIfAbsent(signature.getEntityName(), signature);
+                }
+            }
+        }
+
         // Move seffs from source to destination repository
         monitor.subTask("Merging ServiceEffectSpecificications from source with destination repository");
-        for (RepositoryComponent component : sourceRepository.getComponents__Repository()) {
-            if (!(component instanceof BasicComponent)) {
-                continue;
+        List<BasicComponent> sourceComponents = sourceRepository.getComponents__Repository()
+            .stream()
+            .filter(BasicComponent.class::isInstance)
+            .map(BasicComponent.class::cast)
+            .collect(Collectors.toList());
+        // Source components with the same name are merged into the same destination component, so
+        // they are merged one after another
+        for (BasicComponent sourceComponent : sourceComponents) {
+            merge(sourceComponent, destinationComponents, destinationSignatures);
+        }
+        monitor.done();
+    }
+
+    private static void merge(BasicComponent sourceComponent, Map<String, BasicComponent> destinationComponents,
+            Map<String, OperationSignature> destinationSignatures) {
+        // Assumes that each component from source repository has a counterpart with the same
+        // name in destination
+        // repository. Otherwise, exception is thrown.
+        BasicComponent destinationComponent = destinationComponents.get(sourceComponent.getEntityName());
+        if (destinationComponent == null) {
+            LOG.warn("Failed to find destination component " + sourceComponent.getEntityName() + "!");
+            return;
+        }
+
+        // Index the provided signatures and required roles of the destination component
+        Map<String, OperationSignature> providedSignatures = new HashMap<>();
+        for (ProvidedRole role : destinationComponent.getProvidedRoles_InterfaceProvidingEntity()) {
+            if (role instanceof OperationProvidedRole) {
+                for (OperationSignature signature : ((OperationProvidedRole) role)
+                    .getProvidedInterface__OperationProvidedRole()
+                    .getSignatures__OperationInterface()) {
+                    providedSignatures.putIfAbsent(signature.getEntityName(), signature);
+                }
+            }
+        }
+        Map<OperationSignature, OperationRequiredRole> requiredRoles = new HashMap<>();
+        for (RequiredRole role : destinationComponent.getRequiredRoles_InterfaceRequiringEntity()) {
+            if (role instanceof OperationRequiredRole) {
+                OperationRequiredRole requiredRole = (OperationRequiredRole) role;
+                for (OperationSignature signature : requiredRole.getRequiredInterface__OperationRequiredRole()
+                    .getSignatures__OperationInterface()) {
+                    requiredRoles.putIfAbsent(signature, requiredRole);
+                }
             }
+        }
+
+        // Mirrors the seffs of the destination component in list order, grouped by signature name
+        Map<String, Deque<ServiceEffectSpecification>> destinationSeffs = new HashMap<>();
+        for (ServiceEffectSpecification destinationSeff : destinationComponent
+            .getServiceEffectSpecifications__BasicComponent()) {
+            destinationSeffs.computeIfAbsent(destinationSeff.getDescribedService__SEFF()
+                .getEntityName(), name -> new ArrayDeque<>())
+                .addLast(destinationSeff);
+        }
 
-            // Assumes that each component from source repository has a counterpart with the same
-            // name in destination
-            // repository. Otherwise, exception is thrown.
-            BasicComponent sourceComponent = (BasicComponent) component;
-            Optional<BasicComponent> destinationComponentOption = destinationRepository.getComponents__Repository()
-                .stream()
-                .filter(otherComponent -> otherComponent.getEntityName()
-                    .equals(sourceComponent.getEntityName()))
-                .filter(BasicComponent.class::isInstance)
-                .map(BasicComponent.class::cast)
-                .findFirst();
-
-            if (destinationComponentOption.isEmpty()) {
-                LOG.warn("Failed to find destination component " + sourceComponent.getEntityName() + "!");
+        // Overwrite seffs within destination component
+        List<ServiceEffectSpecification> sourceSeffs = List
+            .copyOf(sourceComponent.getServiceEffectSpecifications__BasicComponent());
+        for (ServiceEffectSpecification sourceSeff : sourceSeffs) {
+            String signatureName = sourceSeff.getDescribedService__SEFF()
+                .getEntityName();
+
+            // Retrieve destination signature for seff, throw if signature is not provided by
+            // destination component
+            OperationSignature destinationSignature = providedSignatures.get(signatureName);
+            if (destinationSignature == null) {
+                LOG.warn("Failed to find destination signature for " + signatureName + " in component "
+                        + destinationComponent.getEntityName() + "!");
                 continue;
             }
-            BasicComponent destinationComponent = destinationComponentOption.get();
-
-            // Overwrite seffs within destination component
-            List<ServiceEffectSpecification> sourceSeffs = List
-                .copyOf(sourceComponent.getServiceEffectSpecifications__BasicComponent());
-            for (ServiceEffectSpecification sourceSeff : sourceSeffs) {
-                // Retrieve destination signature for seff, throw if signature is not provided by
-                // destination component
-                Optional<OperationSignature> destinationSignatureOption = destinationComponent
-                    .getProvidedRoles_InterfaceProvidingEntity()
-                    .stream()
-                    .filter(role -> role instanceof OperationProvidedRole)
-                    .map(role -> (OperationProvidedRole) role)
-                    .flatMap(role -> role.getProvidedInterface__OperationProvidedRole()
-                        .getSignatures__OperationInterface()
-                        .stream())
-                    .filter(signature -> signature.getEntityName()
-                        .equals(sourceSeff.getDescribedService__SEFF()
-                            .getEntityName()))
-                    .findFirst();
-
-                if (destinationSignatureOption.isEmpty()) {
-                    LOG.warn("Failed to find destination signature for " + sourceSeff.getDescribedService__SEFF()
-                        .getEntityName() + " in component " + destinationComponent.getEntityName() + "!");
+
+            // Set component and signature of source seff to destination elements
+            sourceSeff.setBasicComponent_ServiceEffectSpecification(destinationComponent);
+            sourceSeff.setDescribedService__SEFF(destinationSignature);
+            Deque<ServiceEffectSpecification> seffsWithName = destinationSeffs.computeIfAbsent(signatureName,
+                    name -> new ArrayDeque<>());
+            seffsWithName.addLast(sourceSeff);
+
+            // Adapt external call actions to new repository -> Swap signatures and required
+            // roles
+            EList<AbstractAction> behaviorSteps = ((ResourceDemandingSEFF) sourceSeff).getSteps_Behaviour();
+            for (AbstractAction action : behaviorSteps) {
+                if (!(action instanceof ExternalCallAction)) {
                     continue;
                 }
-                OperationSignature destinationSignature = destinationSignatureOption.get();
-
-                // Set component and signature of source seff to destination elements
-                sourceSeff.setBasicComponent_ServiceEffectSpecification(destinationComponent);
-                sourceSeff.setDescribedService__SEFF(destinationSignature);
-
-                // Adapt external call actions to new repository -> Swap signatures and required
-                // roles
-                EList<AbstractAction> behaviorSteps = ((ResourceDemandingSEFF) sourceSeff).getSteps_Behaviour();
-                for (AbstractAction action : behaviorSteps) {
-                    if (!(action instanceof ExternalCallAction)) {
-                        continue;
-                    }
-                    ExternalCallAction externalCallAction = (ExternalCallAction) action;
-                    String calledSignatureEntityName = externalCallAction.getCalledService_ExternalService()
-                        .getEntityName();
-
-                    // Fetch called signature from destination repository
-                    Optional<OperationSignature> calledSignatureOption = destinationRepository
-                        .getInterfaces__Repository()
-                        .stream()
-                        .filter(interFace -> interFace instanceof OperationInterface)
-                        .flatMap(interFace -> ((OperationInterface) interFace).getSignatures__OperationInterface()
-                            .stream())
-                        .filter(signature -> signature.getEntityName()
-                            .equals(calledSignatureEntityName))
-                        .findFirst();
-
-                    if (calledSignatureOption.isEmpty()) {
-                        LOG.warn("Failed to find called signature for " + calledSignatureEntityName + "!");
-                        continue;
-                    }
-                    OperationSignature calledSignature = calledSignatureOption.get();
-
-                    // Fetch required role from destination repository
-                    Optional<OperationRequiredRole> requiredRoleOption = destinationComponent
-                        .getRequiredRoles_InterfaceRequiringEntity()
-                        .stream()
-                        .filter(role -> role instanceof OperationRequiredRole)
-                        .map(role -> (OperationRequiredRole) role)
-                        .filter(role -> role.getRequiredInterface__OperationRequiredRole()
-                            .getSignatures__OperationInterface()
-                            .contains(calledSignature))
-                        .findFirst();
-
-                    if (requiredRoleOption.isEmpty()) {
-                        LOG.warn(
-                                "Failed to find required role for " + calledSignature.getInterface__OperationSignature()
-                                    .getEntityName() + "#" + calledSignature.getEntityName() + "!");
-                        continue;
-                    }
-                    OperationRequiredRole requiredRole = requiredRoleOption.get();
-
-                    externalCallAction.setCalledService_ExternalService(calledSignature);
-                    externalCallAction.setRole_ExternalService(requiredRole);
+                ExternalCallAction externalCallAction = (ExternalCallAction) action;
+                String calledSignatureEntityName = externalCallAction.getCalledService_ExternalService()
+                    .getEntityName();
+
+                // Fetch called signature from destination repository
+                OperationSignature calledSignature = destinationSignatures.get(calledSignatureEntityName);
+                if (calledSignature == null) {
+                    LOG.warn("Failed to find called signature for " + calledSignatureEntityName + "!");
+                    continue;
                 }
 
-                // Find optional already existing and conflicting seff in destination component
-                Optional<ServiceEffectSpecification> optionalDestinationSeff = destinationComponent
-                    .getServiceEffectSpecifications__BasicComponent()
-                    .stream()
-                    .filter(destinationSeff -> destinationSeff.getDescribedService__SEFF()
-                        .getEntityName()
-                        .equals(sourceSeff.getDescribedService__SEFF()
-                            .getEntityName()))
-                    .findFirst();
-
-                // Delete conflicting seff in destination component
-                if (optionalDestinationSeff.isPresent()) {
-                    destinationComponent.getServiceEffectSpecifications__BasicComponent()
-                        .remove(optionalDestinationSeff.get());
+                // Fetch required role from destination repository
+                OperationRequiredRole requiredRole = requiredRoles.get(calledSignature);
+                if (requiredRole == null) {
+                    LOG.warn("Failed to find required role for " + calledSignature.getInterface__OperationSignature()
+                        .getEntityName() + "#" + calledSignature.getEntityName() + "!");
+                    continue;
                 }
+
+                externalCallAction.setCalledService_ExternalService(calledSignature);
+                externalCallAction.setRole_ExternalService(requiredRole);
             }
+
+            // Delete the first seff with the same signature name in destination component, which
+            // is the already existing and conflicting one if there is any
+            destinationComponent.getServiceEffectSpecifications__BasicComponent()
+                .remove(seffsWithName.pollFirst());
         }
-        monitor.done();
     }
 
     @Override
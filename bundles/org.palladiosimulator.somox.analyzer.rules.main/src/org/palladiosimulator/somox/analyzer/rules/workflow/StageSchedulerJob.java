@@ -0,0 +1,294 @@
+package org.palladiosimulator.somox.analyzer.rules.workflow;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+import org.apache.log4j.Logger;
+import org.eclipse.core.runtime.IProgressMonitor;
+
+import de.uka.ipd.sdq.workflow.jobs.CleanupFailedException;
+import de.uka.ipd.sdq.workflow.jobs.IJob;
+import de.uka.ipd.sdq.workflow.jobs.JobFailedException;
+import de.uka.ipd.sdq.workflow.jobs.UserCanceledException;
+
+/**
+ * Runs stages that declare the blackboard keys they read and write. A stage waits for every stage
+ * added before it that writes a key it reads or writes, or that reads a key it writes. All other
+ * stages run concurrently. Without any overlap of keys, all stages run at once; only if every stage
+ * depends on the one before it, this behaves like a sequential job.
+ * <p>
+ * Every stage gets its own progress monitor, which forwards to the shared monitor one call at a
+ * time. A finished stage counts as one unit of work.
+ * <p>
+ * Data that is no longer needed can be released as soon as all stages accessing its keys are done,
+ * instead of staying reachable until the whole workflow has finished.
+ */
+public class StageSchedulerJob implements IJob {
+    private static final Logger LOG = Logger.getLogger(StageSchedulerJob.class);
+
+    private static final String NAME = "Rule Engine Stage Scheduler";
+
+    private final List<Stage> stages;
+    private final List<Release> releases;
+    private final List<Stage> executedStages;
+
+    public StageSchedulerJob() {
+        this.stages = new ArrayList<>();
+        this.releases = new ArrayList<>();
+        this.executedStages = Collections.synchronizedList(new ArrayList<>());
+    }
+
+    /**
+     * Adds a stage after all previously added stages.
+     *
+     * @param job
+     *            the job of the stage
+     * @param readKeys
+     *            the blackboard keys the job reads
+     * @param writeKeys
+     *            the blackboard keys the job adds, replaces or modifies
+     */
+    public void add(IJob job, Set<String> readKeys, Set<String> writeKeys) {
+        Stage stage = new Stage(job, readKeys, writeKeys);
+        for (Stage previous : stages) {
+            if (stage.dependsOn(previous)) {
+                stage.dependencies.add(previous);
+            }
+        }
+        stages.add(stage);
+    }
+
+    /**
+     * Releases data once every stage that reads or writes one of the keys has finished successfully.
+     * Stages added later are taken into account as well.
+     *
+     * @param keys
+     *            the blackboard keys the data belongs to
+     * @param release
+     *            releases the data, e.g. by removing partitions from the blackboard
+     */
+    public void releaseAfter(Set<String> keys, Runnable release) {
+        releases.add(new Release(keys, release));
+    }
+
+    /**
+     * Returns whether the stage of a job waits for the stage of another job, directly or through
+     * other stages.
+     */
+    public boolean isOrderedAfter(IJob job, IJob previousJob) {
+        Deque<Stage> queue = new ArrayDeque<>(getStage(job).dependencies);
+        Set<Stage> visited = new HashSet<>();
+        while (!queue.isEmpty()) {
+            Stage stage = queue.poll();
+            if (stage.job == previousJob) {
+                return true;
+            }
+            if (visited.add(stage)) {
+                queue.addAll(stage.dependencies);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return the jobs of all stages in the order they were added
+     */
+    public List<IJob> getJobs() {
+        return stages.stream()
+            .map(stage -> stage.job)
+            .collect(Collectors.toList());
+    }
+
+    private Stage getStage(IJob job) {
+        return stages.stream()
+            .filter(stage -> stage.job == job)
+            .findFirst()
+            .orElseThrow(() -> new IllegalArgumentException("No stage for job " + job.getName()));
+    }
+
+    @Override
+    public void execute(IProgressMonitor monitor) throws JobFailedException, UserCanceledException {
+        monitor.beginTask(NAME, stages.size());
+        // The stages are few and often wait on I/O or on their own worker threads
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, stages.size()));
+        try {
+            for (Stage stage : stages) {
+                CompletableFuture<?>[] dependencies = stage.dependencies.stream()
+                    .map(dependency -> dependency.future)
+                    .toArray(CompletableFuture<?>[]::new);
+                // A failed dependency completes the dependents exceptionally without running them
+                stage.future = CompletableFuture.allOf(dependencies)
+                    .thenRunAsync(() -> run(stage, monitor), executor);
+            }
+            List<CompletableFuture<?>> futures = new ArrayList<>();
+            for (Release release : releases) {
+                futures.add(CompletableFuture.allOf(stages.stream()
+                    .filter(release::concerns)
+                    .map(stage -> stage.future)
+                    .toArray(CompletableFuture<?>[]::new))
+                    .thenRun(release.release));
+            }
+            stages.forEach(stage -> futures.add(stage.future));
+            CompletableFuture.allOf(futures.toArray(CompletableFuture<?>[]::new))
+                .exceptionally(throwable -> null)
+                .join();
+        } finally {
+            executor.shutdown();
+            monitor.done();
+        }
+
+        // Report the failure of the first stage in registration order, dependents only repeat it
+        for (Stage stage : stages) {
+            if (stage.future.isCompletedExceptionally()) {
+                rethrow(stage);
+            }
+        }
+    }
+
+    private void run(Stage stage, IProgressMonitor monitor) {
+        LOG.info("Starting stage \"" + stage.job.getName() + "\"");
+        executedStages.add(stage);
+        try {
+            stage.job.execute(new StageMonitor(monitor));
+        } catch (JobFailedException | UserCanceledException e) {
+            throw new CompletionException(e);
+        }
+        synchronized (monitor) {
+            monitor.worked(1);
+        }
+        LOG.info("Finished stage \"" + stage.job.getName() + "\"");
+    }
+
+    private static void rethrow(Stage stage) throws JobFailedException, UserCanceledException {
+        try {
+            stage.future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof JobFailedException) {
+                throw (JobFailedException) cause;
+            } else if (cause instanceof UserCanceledException) {
+                throw (UserCanceledException) cause;
+            }
+            throw new JobFailedException("Stage \"" + stage.job.getName() + "\" failed", cause);
+        }
+    }
+
+    @Override
+    public void cleanup(IProgressMonitor monitor) throws CleanupFailedException {
+        List<Stage> cleanupOrder = new ArrayList<>(executedStages);
+        Collections.reverse(cleanupOrder);
+        for (Stage stage : cleanupOrder) {
+            stage.job.cleanup(monitor);
+        }
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    private static final class Stage {
+        private final IJob job;
+        private final Set<String> readKeys;
+        private final Set<String> writeKeys;
+        private final List<Stage> dependencies;
+        private CompletableFuture<Void> future;
+
+        private Stage(IJob job, Set<String> readKeys, Set<String> writeKeys) {
+            this.job = Objects.requireNonNull(job);
+            this.readKeys = Set.copyOf(readKeys);
+            this.writeKeys = Set.copyOf(writeKeys);
+            this.dependencies = new ArrayList<>();
+        }
+
+        private boolean dependsOn(Stage previous) {
+            return !Collections.disjoint(previous.writeKeys, readKeys)
+                    || !Collections.disjoint(previous.writeKeys, writeKeys)
+                    || !Collections.disjoint(previous.readKeys, writeKeys);
+        }
+    }
+
+    /**
+     * The progress monitor of a single stage. Progress monitors are not thread-safe, so every call
+     * is forwarded to the shared monitor while holding its lock. The work of a stage is not
+     * forwarded, since the shared monitor counts whole stages.
+     */
+    private static final class StageMonitor implements IProgressMonitor {
+        private final IProgressMonitor monitor;
+
+        private StageMonitor(IProgressMonitor monitor) {
+            this.monitor = monitor;
+        }
+
+        @Override
+        public void beginTask(String name, int totalWork) {
+            subTask(name);
+        }
+
+        @Override
+        public void done() {
+            // The scheduler reports the end of the stage
+        }
+
+        @Override
+        public void internalWorked(double work) {
+            // The scheduler reports the end of the stage
+        }
+
+        @Override
+        public boolean isCanceled() {
+            synchronized (monitor) {
+                return monitor.isCanceled();
+            }
+        }
+
+        @Override
+        public void setCanceled(boolean value) {
+            synchronized (monitor) {
+                monitor.setCanceled(value);
+            }
+        }
+
+        @Override
+        public void setTaskName(String name) {
+            subTask(name);
+        }
+
+        @Override
+        public void subTask(String name) {
+            synchronized (monitor) {
+                monitor.subTask(name);
+            }
+        }
+
+        @Override
+        public void worked(int work) {
+            // The scheduler reports the end of the stage
+        }
+    }
+
+    private static final class Release {
+        private final Set<String> keys;
+        private final Runnable release;
+
+        private Release(Set<String> keys, Runnable release) {
+            this.keys = Set.copyOf(keys);
+            this.release = Objects.requireNonNull(release);
+        }
+
+        private boolean concerns(Stage stage) {
+            return !Collections.disjoint(keys, stage.readKeys) || !Collections.disjoint(keys, stage.writeKeys);
+        }
+    }
+}
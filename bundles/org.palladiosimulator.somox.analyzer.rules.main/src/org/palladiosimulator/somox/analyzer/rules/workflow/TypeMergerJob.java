@@ -1,8 +1,25 @@
 package org.palladiosimulator.somox.analyzer.rules.workflow;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
+import org.apache.log4j.Logger;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EStructuralFeature.Setting;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.palladiosimulator.pcm.reliability.FailureType;
+import org.palladiosimulator.pcm.repository.CollectionDataType;
+import org.palladiosimulator.pcm.repository.CompositeDataType;
+import org.palladiosimulator.pcm.repository.DataType;
+import org.palladiosimulator.pcm.repository.InnerDeclaration;
+import org.palladiosimulator.pcm.repository.PrimitiveDataType;
 import org.palladiosimulator.pcm.repository.Repository;
 
 import de.uka.ipd.sdq.workflow.blackboard.Blackboard;
@@ -12,18 +29,32 @@ import de.uka.ipd.sdq.workflow.jobs.JobFailedException;
 import de.uka.ipd.sdq.workflow.jobs.UserCanceledException;
 
 public class TypeMergerJob implements IBlackboardInteractingJob<Blackboard<Object>> {
+    private static final Logger LOG = Logger.getLogger(TypeMergerJob.class);
+
     private static final String JOB_NAME = "DataType & FailureType Repository Merger Job";
 
     private Blackboard<Object> blackboard;
 
     private final String sourceTypeRepositoryKey;
     private final String destinationTypeRepositoryKey;
+    private final boolean deduplicate;
 
     public TypeMergerJob(Blackboard<Object> blackboard, String sourceTypeRepositoryKey,
             String destinationTypeRepositoryKey) {
+        this(blackboard, sourceTypeRepositoryKey, destinationTypeRepositoryKey, false);
+    }
+
+    /**
+     * @param deduplicate
+     *            whether structurally equal types are merged into the first of them. References to
+     *            the dropped types are redirected to the remaining one.
+     */
+    public TypeMergerJob(Blackboard<Object> blackboard, String sourceTypeRepositoryKey,
+            String destinationTypeRepositoryKey, boolean deduplicate) {
         this.blackboard = Objects.requireNonNull(blackboard);
         this.sourceTypeRepositoryKey = sourceTypeRepositoryKey;
         this.destinationTypeRepositoryKey = destinationTypeRepositoryKey;
+        this.deduplicate = deduplicate;
     }
 
     @Override
@@ -33,6 +64,11 @@ public class TypeMergerJob implements IBlackboardInteractingJob<Blackboard<Objec
         Repository sourceRepository = (Repository) this.blackboard.getPartition(this.sourceTypeRepositoryKey);
         Repository destinationRepository = (Repository) this.blackboard.getPartition(this.destinationTypeRepositoryKey);
 
+        if (deduplicate) {
+            monitor.subTask("Deduplicating types of source and destination repository");
+            deduplicate(sourceRepository, destinationRepository);
+        }
+
         // Move types from source to destination repository
         monitor.subTask("Merging types from source into destination repository");
         destinationRepository.getDataTypes__Repository().addAll(sourceRepository.getDataTypes__Repository());
@@ -40,6 +76,110 @@ public class TypeMergerJob implements IBlackboardInteractingJob<Blackboard<Objec
         monitor.done();
     }
 
+    private static void deduplicate(Repository sourceRepository, Repository destinationRepository) {
+        // The first type with a key is kept, types already in the destination repository come first
+        Map<EObject, EObject> duplicates = new IdentityHashMap<>();
+        Map<String, EObject> canonicalTypes = new HashMap<>();
+        List<EObject> types = new ArrayList<>();
+        types.addAll(destinationRepository.getDataTypes__Repository());
+        types.addAll(destinationRepository.getFailureTypes__Repository());
+        types.addAll(sourceRepository.getDataTypes__Repository());
+        types.addAll(sourceRepository.getFailureTypes__Repository());
+        for (EObject type : types) {
+            String key = getKey(type);
+            if (key == null) {
+                continue;
+            }
+            EObject canonicalType = canonicalTypes.putIfAbsent(key, type);
+            if (canonicalType != null) {
+                duplicates.put(type, canonicalType);
+            }
+        }
+        if (duplicates.isEmpty()) {
+            return;
+        }
+
+        // Redirect all references in one pass over the models, then drop the duplicates
+        Map<EObject, Collection<Setting>> usages = EcoreUtil.UsageCrossReferencer.findAll(duplicates.keySet(),
+                getScope(sourceRepository, destinationRepository));
+        for (Map.Entry<EObject, Collection<Setting>> usage : usages.entrySet()) {
+            for (Setting setting : usage.getValue()) {
+                EcoreUtil.replace(setting, usage.getKey(), duplicates.get(usage.getKey()));
+            }
+        }
+        for (Repository repository : List.of(sourceRepository, destinationRepository)) {
+            repository.getDataTypes__Repository()
+                .removeIf(duplicates::containsKey);
+            repository.getFailureTypes__Repository()
+                .removeIf(duplicates::containsKey);
+        }
+        LOG.info("Removed " + duplicates.size() + " duplicate types");
+    }
+
+    private static Collection<?> getScope(Repository sourceRepository, Repository destinationRepository) {
+        // Other models in the same resource set may reference the types as well
+        if (sourceRepository.eResource() != null && destinationRepository.eResource() != null) {
+            ResourceSet resourceSet = destinationRepository.eResource()
+                .getResourceSet();
+            if (resourceSet != null && resourceSet == sourceRepository.eResource()
+                .getResourceSet()) {
+                return List.of(resourceSet);
+            }
+        }
+        return List.of(sourceRepository, destinationRepository);
+    }
+
+    /**
+     * Returns a key that is equal for structurally equal types, or {@code null} if the type is not
+     * deduplicated. Composite types are referenced by name, so that recursive types have finite keys.
+     */
+    private static String getKey(EObject type) {
+        if (type instanceof PrimitiveDataType) {
+            return "primitive:" + ((PrimitiveDataType) type).getType();
+        } else if (type instanceof CollectionDataType) {
+            CollectionDataType collectionType = (CollectionDataType) type;
+            String innerKey = getReferenceKey(collectionType.getInnerType_CollectionDataType());
+            if (innerKey == null) {
+                return null;
+            }
+            return "collection:" + collectionType.getEntityName() + "<" + innerKey + ">";
+        } else if (type instanceof CompositeDataType) {
+            CompositeDataType compositeType = (CompositeDataType) type;
+            StringBuilder key = new StringBuilder("composite:").append(compositeType.getEntityName())
+                .append("(");
+            for (CompositeDataType parentType : compositeType.getParentType_CompositeDataType()) {
+                key.append(getReferenceKey(parentType))
+                    .append(";");
+            }
+            key.append("){");
+            for (InnerDeclaration declaration : compositeType.getInnerDeclaration_CompositeDataType()) {
+                String innerKey = getReferenceKey(declaration.getDatatype_InnerDeclaration());
+                if (innerKey == null) {
+                    return null;
+                }
+                key.append(declaration.getEntityName())
+                    .append(":")
+                    .append(innerKey)
+                    .append(";");
+            }
+            return key.append("}")
+                .toString();
+        } else if (type instanceof FailureType) {
+            return "failure:" + type.eClass()
+                .getName() + ":" + ((FailureType) type).getEntityName();
+        }
+        return null;
+    }
+
+    private static String getReferenceKey(DataType type) {
+        if (type == null) {
+            return "none";
+        } else if (type instanceof CompositeDataType) {
+            return "composite:" + ((CompositeDataType) type).getEntityName();
+        }
+        return getKey(type);
+    }
+
     @Override
     public void cleanup(IProgressMonitor monitor) throws CleanupFailedException {
         // No cleanup required for the job
@@ -14,6 +14,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 import org.apache.commons.csv.CSVRecord;
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -45,9 +46,11 @@ public class CsvDiscoverer implements Discoverer {
                 final Path root = Paths.get(CommonPlugin.asLocalURI(configuration.getInputFolder())
                     .devicePath());
                 setBlackboard(Objects.requireNonNull(blackboard));
-                final Map<String, List<CSVRecord>> csvs = new HashMap<>();
-                Discoverer.find(root, ".csv", logger)
-                    .forEach(p -> {
+                final List<String> paths = Discoverer.find(root, ".csv", logger)
+                    .collect(Collectors.toList());
+                getBlackboard().addLazyPartition(DISCOVERER_ID, () -> {
+                    final Map<String, List<CSVRecord>> csvs = new HashMap<>();
+                    paths.forEach(p -> {
                         final List<CSVRecord> records = new LinkedList<>();
                         try (Reader reader = new FileReader(p)) {
                             DEFAULT.parse(reader)
@@ -57,7 +60,8 @@ public class CsvDiscoverer implements Discoverer {
                         }
                         csvs.put(p, records);
                     });
-                getBlackboard().addPartition(DISCOVERER_ID, csvs);
+                    return csvs;
+                });
             }
 
             @Override
@@ -7,6 +7,7 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
@@ -43,9 +44,11 @@ public class JsonDiscoverer implements Discoverer {
                 final Path root = Paths.get(CommonPlugin.asLocalURI(configuration.getInputFolder())
                     .devicePath());
                 setBlackboard(Objects.requireNonNull(blackboard));
-                final Map<String, JSONObject> jsons = new HashMap<>();
-                Discoverer.find(root, ".json", logger)
-                    .forEach(p -> {
+                final List<String> paths = Discoverer.find(root, ".json", logger)
+                    .collect(Collectors.toList());
+                getBlackboard().addLazyPartition(DISCOVERER_ID, () -> {
+                    final Map<String, JSONObject> jsons = new HashMap<>();
+                    paths.forEach(p -> {
                         try (BufferedReader reader = new BufferedReader(new FileReader(p))) {
                             String jsonSource = reader.lines()
                                 .collect(Collectors.joining(System.lineSeparator()));
@@ -54,7 +57,8 @@ public class JsonDiscoverer implements Discoverer {
                             logger.error(String.format("%s could not be read correctly.", p), e);
                         }
                     });
-                getBlackboard().addPartition(DISCOVERER_ID, jsons);
+                    return jsons;
+                });
             }
 
             @Override
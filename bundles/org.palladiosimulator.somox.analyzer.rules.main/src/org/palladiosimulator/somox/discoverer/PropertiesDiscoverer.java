@@ -7,10 +7,12 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Properties;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.emf.common.CommonPlugin;
@@ -41,9 +43,11 @@ public class PropertiesDiscoverer implements Discoverer {
                 final Path root = Paths.get(CommonPlugin.asLocalURI(configuration.getInputFolder())
                     .devicePath());
                 setBlackboard(Objects.requireNonNull(blackboard));
-                final Map<String, Object> propertyFiles = new HashMap<>();
-                Discoverer.find(root, ".properties", logger)
-                    .forEach(p -> {
+                final List<String> paths = Discoverer.find(root, ".properties", logger)
+                    .collect(Collectors.toList());
+                getBlackboard().addLazyPartition(DISCOVERER_ID, () -> {
+                    final Map<String, Object> propertyFiles = new HashMap<>();
+                    paths.forEach(p -> {
                         try (Reader reader = new FileReader(p)) {
                             Properties properties = new Properties();
                             properties.load(reader);
@@ -52,7 +56,8 @@ public class PropertiesDiscoverer implements Discoverer {
                             logger.error(String.format("%s could not be read correctly.", p), e);
                         }
                     });
-                getBlackboard().addPartition(DISCOVERER_ID, propertyFiles);
+                    return propertyFiles;
+                });
             }
 
             @Override
@@ -7,9 +7,11 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.emf.common.CommonPlugin;
@@ -43,16 +45,19 @@ public class SqlDiscoverer implements Discoverer {
                 final Path root = Paths.get(CommonPlugin.asLocalURI(configuration.getInputFolder())
                     .devicePath());
                 setBlackboard(Objects.requireNonNull(blackboard));
-                final Map<String, Statement> sqls = new HashMap<>();
-                Discoverer.find(root, ".sql", logger)
-                    .forEach(p -> {
+                final List<String> paths = Discoverer.find(root, ".sql", logger)
+                    .collect(Collectors.toList());
+                getBlackboard().addLazyPartition(DISCOVERER_ID, () -> {
+                    final Map<String, Statement> sqls = new HashMap<>();
+                    paths.forEach(p -> {
                         try (Reader reader = new FileReader(p)) {
                             sqls.put(p, CCJSqlParserUtil.parse(reader));
                         } catch (final IOException | JSQLParserException e) {
                             logger.error(String.format("%s could not be read correctly.", p), e);
                         }
                     });
-                getBlackboard().addPartition(DISCOVERER_ID, sqls);
+                    return sqls;
+                });
             }
 
             @Override
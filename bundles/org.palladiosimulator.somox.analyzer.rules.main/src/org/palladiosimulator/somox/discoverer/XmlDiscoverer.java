@@ -7,9 +7,11 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.emf.common.CommonPlugin;
@@ -43,9 +45,11 @@ public class XmlDiscoverer implements Discoverer {
                 final Path root = Paths.get(CommonPlugin.asLocalURI(configuration.getInputFolder())
                     .devicePath());
                 setBlackboard(Objects.requireNonNull(blackboard));
-                final Map<String, Document> xmls = new HashMap<>();
-                Discoverer.find(root, ".xml", logger)
-                    .forEach(p -> {
+                final List<String> paths = Discoverer.find(root, ".xml", logger)
+                    .collect(Collectors.toList());
+                getBlackboard().addLazyPartition(DISCOVERER_ID, () -> {
+                    final Map<String, Document> xmls = new HashMap<>();
+                    paths.forEach(p -> {
                         try (Reader reader = new FileReader(p)) {
                             xmls.put(p, new SAXBuilder().build(reader));
                         } catch (IOException | JDOMException e) {
@@ -53,13 +57,14 @@ public class XmlDiscoverer implements Discoverer {
                         }
                     });
 
-                final Map<String, Document> poms = new HashMap<>();
-                xmls.keySet()
-                    .stream()
-                    .filter(p -> p.toLowerCase()
-                        .endsWith("pom.xml"))
-                    .forEach(k -> poms.put(k, xmls.get(k)));
-                getBlackboard().addPartition(DISCOVERER_ID, poms);
+                    final Map<String, Document> poms = new HashMap<>();
+                    xmls.keySet()
+                        .stream()
+                        .filter(p -> p.toLowerCase()
+                            .endsWith("pom.xml"))
+                        .forEach(k -> poms.put(k, xmls.get(k)));
+                    return poms;
+                });
             }
 
             @Override
@@ -12,6 +12,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -45,9 +46,12 @@ public class YamlDiscoverer implements Discoverer {
                 final Path root = Paths.get(CommonPlugin.asLocalURI(configuration.getInputFolder())
                     .devicePath());
                 setBlackboard(Objects.requireNonNull(blackboard));
-                final Map<String, Object> yamls = new HashMap<>();
-                Stream.concat(Discoverer.find(root, ".yml", logger), Discoverer.find(root, ".yaml", logger))
-                    .forEach(p -> {
+                final List<String> paths = Stream
+                    .concat(Discoverer.find(root, ".yml", logger), Discoverer.find(root, ".yaml", logger))
+                    .collect(Collectors.toList());
+                getBlackboard().addLazyPartition(DISCOVERER_ID, () -> {
+                    final Map<String, Object> yamls = new HashMap<>();
+                    paths.forEach(p -> {
                         try (Reader reader = new FileReader(p)) {
                             List<Object> yamlContents = new ArrayList<>();
                             new Yaml().loadAll(reader)
@@ -57,7 +61,8 @@ public class YamlDiscoverer implements Discoverer {
                             logger.error(String.format("%s could not be read correctly.", p), e);
                         }
                     });
-                getBlackboard().addPartition(DISCOVERER_ID, yamls);
+                    return yamls;
+                });
             }
 
             @Override
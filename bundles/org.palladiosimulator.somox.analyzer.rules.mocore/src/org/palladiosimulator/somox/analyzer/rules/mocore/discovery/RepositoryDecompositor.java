@@ -3,7 +3,10 @@ package org.palladiosimulator.somox.analyzer.rules.mocore.discovery;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
 
 import org.palladiosimulator.pcm.core.composition.AssemblyConnector;
 import org.palladiosimulator.pcm.core.composition.AssemblyContext;
@@ -12,6 +15,7 @@ import org.palladiosimulator.pcm.core.composition.ProvidedDelegationConnector;
 import org.palladiosimulator.pcm.core.composition.RequiredDelegationConnector;
 import org.palladiosimulator.pcm.repository.BasicComponent;
 import org.palladiosimulator.pcm.repository.CompositeComponent;
+import org.palladiosimulator.pcm.repository.OperationInterface;
 import org.palladiosimulator.pcm.repository.OperationProvidedRole;
 import org.palladiosimulator.pcm.repository.OperationRequiredRole;
 import org.palladiosimulator.pcm.repository.OperationSignature;
@@ -42,236 +46,299 @@ import tools.mdsd.mocore.framework.discovery.Discoverer;
  * A decompositor able to extract model-elements and model-relations from a {@link Repository PCM repository}.
  */
 public class RepositoryDecompositor implements Decompositor<Repository> {
-    @Override
-    public Collection<Discoverer<?>> decompose(Repository repository) {
-        // Fetch components, interface provisions and requirements, signatures, and service effect specifications
-        Set<AtomicComponent> atomicComponents = new HashSet<>();
-        Set<Composite> composites = new HashSet<>();
-        Set<CompositionRelation> compositions = new HashSet<>();
-        Set<InterfaceProvisionRelation> interfaceProvisions = new HashSet<>();
-        Set<InterfaceRequirementRelation> interfaceRequirements = new HashSet<>();
-        Set<SignatureProvisionRelation> signatureProvisions = new HashSet<>();
-        Set<ServiceEffectSpecificationRelation> seffProvisions = new HashSet<>();
-        Set<ComponentAssemblyRelation> componentAssemblies = new HashSet<>();
-        Set<CompositeProvisionDelegationRelation> provisionDelegations = new HashSet<>();
-        Set<CompositeRequirementDelegationRelation> requirementDelegations = new HashSet<>();
-
-        for (RepositoryComponent repositoryComponent : repository.getComponents__Repository()) {
-            Component<?> component;
-            if (repositoryComponent instanceof BasicComponent) {
-                AtomicComponent atomicComponent = new AtomicComponent((BasicComponent) repositoryComponent, false);
-                atomicComponents.add(atomicComponent);
-                component = atomicComponent;
-
-                // Basic component specific behavior
-                // Fetch service effect specifications from basic component
-                for (org.palladiosimulator.pcm.seff.ServiceEffectSpecification seff : atomicComponent.getValue()
-                        .getServiceEffectSpecifications__BasicComponent()) {
-                    if (seff instanceof ResourceDemandingSEFF) {
-                        if (seff.getDescribedService__SEFF() instanceof OperationSignature) {
-                            ServiceEffectSpecification seffWrapper = new ServiceEffectSpecification(
-                                    (ResourceDemandingSEFF) seff, false);
-                            OperationSignature operationSignature = (OperationSignature) seff
-                                    .getDescribedService__SEFF();
-                            Signature signature = new Signature(operationSignature, false);
-                            Interface interFace = new Interface(operationSignature.getInterface__OperationSignature(),
-                                    false);
-                            SignatureProvisionRelation signatureProvision = new SignatureProvisionRelation(signature,
-                                    interFace, false);
-                            InterfaceProvisionRelation interfaceProvision = new InterfaceProvisionRelation(component,
-                                    interFace, false);
-                            ComponentSignatureProvisionRelation componentSignatureProvision = new ComponentSignatureProvisionRelation(
-                                    interfaceProvision, signatureProvision, false);
-                            seffProvisions.add(new ServiceEffectSpecificationRelation(componentSignatureProvision,
-                                    seffWrapper, false));
-                        }
-                    }
-                }
-            } else if (repositoryComponent instanceof CompositeComponent) {
-                Composite composite = new Composite((CompositeComponent) repositoryComponent, false);
-                composites.add(composite);
-                component = composite;
-
-                // Composite specific behavior
-                // Create composition relations for each composite
-                for (AssemblyContext assemblyContext : composite.getValue().getAssemblyContexts__ComposedStructure()) {
-                    RepositoryComponent encapsulatedComponent = assemblyContext
-                            .getEncapsulatedComponent__AssemblyContext();
-
-                    // Create appropriate wrapper for child component
-                    Component<?> childWrapper = getGenericWrapperFor(encapsulatedComponent);
-                    if (childWrapper == null) {
-                        // Ignore child that cannot be wrapped
-                        continue;
-                    }
+    private final boolean parallel;
 
-                    // Create composition for composite & child
-                    CompositionRelation composition = new CompositionRelation(composite, childWrapper, false);
-                    compositions.add(composition);
-                }
+    public RepositoryDecompositor() {
+        this(false);
+    }
 
-                // Process connectors of composite component
-                for (Connector connector : composite.getValue().getConnectors__ComposedStructure()) {
-                    if (connector instanceof AssemblyConnector) {
-                        AssemblyConnector assemblyConnector = (AssemblyConnector) connector;
-
-                        // Wrap provider and consumer component
-                        Component<?> provider = getGenericWrapperFor(
-                                assemblyConnector.getProvidingAssemblyContext_AssemblyConnector()
-                                        .getEncapsulatedComponent__AssemblyContext());
-                        Component<?> consumer = getGenericWrapperFor(
-                                assemblyConnector.getRequiringAssemblyContext_AssemblyConnector()
-                                        .getEncapsulatedComponent__AssemblyContext());
-
-                        // Wrap role interfaces
-                        Interface providedInterface = new Interface(assemblyConnector
-                                .getProvidedRole_AssemblyConnector().getProvidedInterface__OperationProvidedRole(),
-                                false);
-                        Interface requiredInterface = new Interface(assemblyConnector
-                                .getRequiredRole_AssemblyConnector().getRequiredInterface__OperationRequiredRole(),
-                                false);
-
-                        // Create interface relations & component assembly relation
-                        InterfaceProvisionRelation provisionRelation = new InterfaceProvisionRelation(provider,
-                                providedInterface, false);
-                        InterfaceRequirementRelation requirementRelation = new InterfaceRequirementRelation(consumer,
-                                requiredInterface, false);
-                        ComponentAssemblyRelation assemblyRelation = new ComponentAssemblyRelation(provisionRelation,
-                                requirementRelation, false);
-
-                        // Add assembly to discoverer
-                        componentAssemblies.add(assemblyRelation);
-                    } else if (connector instanceof ProvidedDelegationConnector) {
-                        ProvidedDelegationConnector providedDelegationConnector = (ProvidedDelegationConnector) connector;
-
-                        // Wrap the providing component & the inner and outer role's interfaces
-                        Component<?> connectorComponent = getGenericWrapperFor(
-                                providedDelegationConnector.getAssemblyContext_ProvidedDelegationConnector()
-                                        .getEncapsulatedComponent__AssemblyContext());
-                        Interface innerInterface = new Interface(
-                                providedDelegationConnector.getInnerProvidedRole_ProvidedDelegationConnector()
-                                        .getProvidedInterface__OperationProvidedRole(),
-                                false);
-                        Interface outerInterface = new Interface(
-                                providedDelegationConnector.getOuterProvidedRole_ProvidedDelegationConnector()
-                                        .getProvidedInterface__OperationProvidedRole(),
-                                false);
-
-                        // Create interface relations
-                        InterfaceProvisionRelation innerInterfaceRelation = new InterfaceProvisionRelation(
-                                connectorComponent, innerInterface, false);
-                        InterfaceProvisionRelation outerInterfaceRelation = new InterfaceProvisionRelation(
-                                composite, outerInterface, false);
-                        CompositeProvisionDelegationRelation delegationRelation = new CompositeProvisionDelegationRelation(
-                                outerInterfaceRelation, innerInterfaceRelation, false);
-
-                        // Add delegation relation to discoverer
-                        provisionDelegations.add(delegationRelation);
-                    } else if (connector instanceof RequiredDelegationConnector) {
-                        RequiredDelegationConnector requiredDelegationConnector = (RequiredDelegationConnector) connector;
-
-                        // Wrap the requiring component & the inner and outer role's interfaces
-                        Component<?> connectorComponent = getGenericWrapperFor(
-                                requiredDelegationConnector.getAssemblyContext_RequiredDelegationConnector()
-                                        .getEncapsulatedComponent__AssemblyContext());
-                        Interface innerInterface = new Interface(
-                                requiredDelegationConnector.getInnerRequiredRole_RequiredDelegationConnector()
-                                        .getRequiredInterface__OperationRequiredRole(),
-                                false);
-                        Interface outerInterface = new Interface(
-                                requiredDelegationConnector.getOuterRequiredRole_RequiredDelegationConnector()
-                                        .getRequiredInterface__OperationRequiredRole(),
-                                false);
-
-                        // Create interface relations & delegation relation
-                        InterfaceRequirementRelation innerInterfaceRelation = new InterfaceRequirementRelation(
-                                connectorComponent, innerInterface, false);
-                        InterfaceRequirementRelation outerInterfaceRelation = new InterfaceRequirementRelation(
-                                composite, outerInterface, false);
-                        CompositeRequirementDelegationRelation delegationRelation = new CompositeRequirementDelegationRelation(
-                                outerInterfaceRelation, innerInterfaceRelation, false);
-
-                        // Add delegation relation to discoverer
-                        requirementDelegations.add(delegationRelation);
-                    }
-                }
-            } else {
-                // Ignore repository components that are neither basic nor composite
-                continue;
-            }
+    /**
+     * @param parallel whether the components are decomposed in parallel. The repository must not be modified and
+     *                 must not contain unresolved proxies meanwhile.
+     */
+    public RepositoryDecompositor(boolean parallel) {
+        this.parallel = parallel;
+    }
 
-            // Behavior for generic repository components
-            // Transform provided roles into interface provision relations
-            for (ProvidedRole providedRole : repositoryComponent.getProvidedRoles_InterfaceProvidingEntity()) {
-                if (providedRole instanceof OperationProvidedRole) {
-                    OperationProvidedRole operationProvidedRole = (OperationProvidedRole) providedRole;
-                    Interface providerInterface = new Interface(
-                            operationProvidedRole.getProvidedInterface__OperationProvidedRole(), false);
-                    interfaceProvisions.add(new InterfaceProvisionRelation(component, providerInterface, false));
-
-                    // Create signature provisions for provider interface
-                    for (OperationSignature operationSignature : providerInterface.getValue()
-                            .getSignatures__OperationInterface()) {
-                        Signature signatureWrapper = new Signature(operationSignature, false);
-                        signatureProvisions.add(new SignatureProvisionRelation(signatureWrapper,
-                                providerInterface, false));
-                    }
-                }
-            }
+    @Override
+    public Collection<Discoverer<?>> decompose(Repository repository) {
+        // Wrappers are only shared within a single decomposition
+        WrapperCache wrappers = new WrapperCache();
 
-            // Transform required roles into interface requirement relations
-            for (RequiredRole requiredRole : repositoryComponent.getRequiredRoles_InterfaceRequiringEntity()) {
-                if (requiredRole instanceof OperationRequiredRole) {
-                    OperationRequiredRole operationRequiredRole = (OperationRequiredRole) requiredRole;
-                    Interface consumerInterface = new Interface(
-                            operationRequiredRole.getRequiredInterface__OperationRequiredRole(), false);
-                    interfaceRequirements.add(new InterfaceRequirementRelation(component, consumerInterface, false));
-
-                    // Create signature provisions for consumer interface
-                    for (OperationSignature operationSignature : consumerInterface.getValue()
-                            .getSignatures__OperationInterface()) {
-                        Signature signatureWrapper = new Signature(operationSignature, false);
-                        signatureProvisions.add(new SignatureProvisionRelation(signatureWrapper,
-                                consumerInterface, false));
-                    }
-                }
-            }
-        }
+        // Fetch components, interface provisions and requirements, signatures, and service effect specifications
+        // Each thread collects into its own decomposition, which are merged at the end
+        Stream<RepositoryComponent> repositoryComponents = parallel
+                ? repository.getComponents__Repository().parallelStream()
+                : repository.getComponents__Repository().stream();
+        Decomposition decomposition = repositoryComponents.collect(Decomposition::new,
+                (result, repositoryComponent) -> decompose(repositoryComponent, wrappers, result),
+                Decomposition::addAll);
 
-        SimpleDiscoverer<AtomicComponent> atomicComponentDiscoverer = new SimpleDiscoverer<>(atomicComponents,
-                AtomicComponent.class);
-        SimpleDiscoverer<Composite> compositeDiscoverer = new SimpleDiscoverer<>(composites, Composite.class);
-        SimpleDiscoverer<CompositionRelation> compositionDiscoverer = new SimpleDiscoverer<>(compositions,
-                CompositionRelation.class);
+        SimpleDiscoverer<AtomicComponent> atomicComponentDiscoverer = new SimpleDiscoverer<>(
+                decomposition.atomicComponents, AtomicComponent.class);
+        SimpleDiscoverer<Composite> compositeDiscoverer = new SimpleDiscoverer<>(decomposition.composites,
+                Composite.class);
+        SimpleDiscoverer<CompositionRelation> compositionDiscoverer = new SimpleDiscoverer<>(
+                decomposition.compositions, CompositionRelation.class);
         SimpleDiscoverer<SignatureProvisionRelation> signatureProvisionDiscoverer = new SimpleDiscoverer<>(
-                signatureProvisions, SignatureProvisionRelation.class);
+                decomposition.signatureProvisions, SignatureProvisionRelation.class);
         SimpleDiscoverer<InterfaceProvisionRelation> interfaceProvisionDiscoverer = new SimpleDiscoverer<>(
-                interfaceProvisions, InterfaceProvisionRelation.class);
+                decomposition.interfaceProvisions, InterfaceProvisionRelation.class);
         SimpleDiscoverer<InterfaceRequirementRelation> interfaceRequirementDiscoverer = new SimpleDiscoverer<>(
-                interfaceRequirements, InterfaceRequirementRelation.class);
+                decomposition.interfaceRequirements, InterfaceRequirementRelation.class);
         SimpleDiscoverer<ServiceEffectSpecificationRelation> seffProvisionDiscoverer = new SimpleDiscoverer<>(
-                seffProvisions, ServiceEffectSpecificationRelation.class);
-        SimpleDiscoverer<ComponentAssemblyRelation> assemblyDiscoverer = new SimpleDiscoverer<>(componentAssemblies,
-                ComponentAssemblyRelation.class);
+                decomposition.seffProvisions, ServiceEffectSpecificationRelation.class);
+        SimpleDiscoverer<ComponentAssemblyRelation> assemblyDiscoverer = new SimpleDiscoverer<>(
+                decomposition.componentAssemblies, ComponentAssemblyRelation.class);
         SimpleDiscoverer<CompositeProvisionDelegationRelation> provisionDelegationDiscoverer = new SimpleDiscoverer<>(
-                provisionDelegations, CompositeProvisionDelegationRelation.class);
+                decomposition.provisionDelegations, CompositeProvisionDelegationRelation.class);
         SimpleDiscoverer<
                 CompositeRequirementDelegationRelation> requirementDelegationDiscoverer = new SimpleDiscoverer<>(
-                        requirementDelegations, CompositeRequirementDelegationRelation.class);
+                        decomposition.requirementDelegations, CompositeRequirementDelegationRelation.class);
         return List.of(atomicComponentDiscoverer, compositeDiscoverer, compositionDiscoverer,
                 signatureProvisionDiscoverer, interfaceProvisionDiscoverer, interfaceRequirementDiscoverer,
                 seffProvisionDiscoverer, assemblyDiscoverer, provisionDelegationDiscoverer,
                 requirementDelegationDiscoverer);
     }
 
-    private Component<?> getGenericWrapperFor(RepositoryComponent repositoryComponent) {
-        // Ignore components that are neither basic nor composite
-        Component<?> wrapper = null;
-        if (repositoryComponent instanceof BasicComponent) {
-            wrapper = new AtomicComponent((BasicComponent) repositoryComponent, false);
-        } else if (repositoryComponent instanceof CompositeComponent) {
-            wrapper = new Composite((CompositeComponent) repositoryComponent, false);
+    private void decompose(RepositoryComponent repositoryComponent, WrapperCache wrappers,
+            Decomposition decomposition) {
+        Component<?> component = wrappers.getComponent(repositoryComponent);
+        if (component instanceof AtomicComponent) {
+            AtomicComponent atomicComponent = (AtomicComponent) component;
+            decomposition.atomicComponents.add(atomicComponent);
+
+            // Basic component specific behavior
+            // Fetch service effect specifications from basic component
+            for (org.palladiosimulator.pcm.seff.ServiceEffectSpecification seff : atomicComponent.getValue()
+                    .getServiceEffectSpecifications__BasicComponent()) {
+                if (seff instanceof ResourceDemandingSEFF) {
+                    if (seff.getDescribedService__SEFF() instanceof OperationSignature) {
+                        ServiceEffectSpecification seffWrapper = new ServiceEffectSpecification(
+                                (ResourceDemandingSEFF) seff, false);
+                        OperationSignature operationSignature = (OperationSignature) seff
+                                .getDescribedService__SEFF();
+                        Signature signature = wrappers.getSignature(operationSignature);
+                        Interface interFace = wrappers
+                                .getInterface(operationSignature.getInterface__OperationSignature());
+                        SignatureProvisionRelation signatureProvision = new SignatureProvisionRelation(signature,
+                                interFace, false);
+                        InterfaceProvisionRelation interfaceProvision = new InterfaceProvisionRelation(component,
+                                interFace, false);
+                        ComponentSignatureProvisionRelation componentSignatureProvision = new ComponentSignatureProvisionRelation(
+                                interfaceProvision, signatureProvision, false);
+                        decomposition.seffProvisions.add(new ServiceEffectSpecificationRelation(
+                                componentSignatureProvision, seffWrapper, false));
+                    }
+                }
+            }
+        } else if (component instanceof Composite) {
+            Composite composite = (Composite) component;
+            decomposition.composites.add(composite);
+
+            // Composite specific behavior
+            // Create composition relations for each composite
+            for (AssemblyContext assemblyContext : composite.getValue().getAssemblyContexts__ComposedStructure()) {
+                RepositoryComponent encapsulatedComponent = assemblyContext
+                        .getEncapsulatedComponent__AssemblyContext();
+
+                // Fetch appropriate wrapper for child component
+                Component<?> childWrapper = wrappers.getComponent(encapsulatedComponent);
+                if (childWrapper == null) {
+                    // Ignore child that cannot be wrapped
+                    continue;
+                }
+
+                // Create composition for composite & child
+                CompositionRelation composition = new CompositionRelation(composite, childWrapper, false);
+                decomposition.compositions.add(composition);
+            }
+
+            // Process connectors of composite component
+            for (Connector connector : composite.getValue().getConnectors__ComposedStructure()) {
+                if (connector instanceof AssemblyConnector) {
+                    AssemblyConnector assemblyConnector = (AssemblyConnector) connector;
+
+                    // Wrap provider and consumer component
+                    Component<?> provider = wrappers.getComponent(
+                            assemblyConnector.getProvidingAssemblyContext_AssemblyConnector()
+                                    .getEncapsulatedComponent__AssemblyContext());
+                    Component<?> consumer = wrappers.getComponent(
+                            assemblyConnector.getRequiringAssemblyContext_AssemblyConnector()
+                                    .getEncapsulatedComponent__AssemblyContext());
+
+                    // Wrap role interfaces
+                    Interface providedInterface = wrappers.getInterface(assemblyConnector
+                            .getProvidedRole_AssemblyConnector().getProvidedInterface__OperationProvidedRole());
+                    Interface requiredInterface = wrappers.getInterface(assemblyConnector
+                            .getRequiredRole_AssemblyConnector().getRequiredInterface__OperationRequiredRole());
+
+                    // Create interface relations & component assembly relation
+                    InterfaceProvisionRelation provisionRelation = new InterfaceProvisionRelation(provider,
+                            providedInterface, false);
+                    InterfaceRequirementRelation requirementRelation = new InterfaceRequirementRelation(consumer,
+                            requiredInterface, false);
+                    ComponentAssemblyRelation assemblyRelation = new ComponentAssemblyRelation(provisionRelation,
+                            requirementRelation, false);
+
+                    // Add assembly to discoverer
+                    decomposition.componentAssemblies.add(assemblyRelation);
+                } else if (connector instanceof ProvidedDelegationConnector) {
+                    ProvidedDelegationConnector providedDelegationConnector = (ProvidedDelegationConnector) connector;
+
+                    // Wrap the providing component & the inner and outer role's interfaces
+                    Component<?> connectorComponent = wrappers.getComponent(
+                            providedDelegationConnector.getAssemblyContext_ProvidedDelegationConnector()
+                                    .getEncapsulatedComponent__AssemblyContext());
+                    Interface innerInterface = wrappers.getInterface(
+                            providedDelegationConnector.getInnerProvidedRole_ProvidedDelegationConnector()
+                                    .getProvidedInterface__OperationProvidedRole());
+                    Interface outerInterface = wrappers.getInterface(
+                            providedDelegationConnector.getOuterProvidedRole_ProvidedDelegationConnector()
+                                    .getProvidedInterface__OperationProvidedRole());
+
+                    // Create interface relations
+                    InterfaceProvisionRelation innerInterfaceRelation = new InterfaceProvisionRelation(
+                            connectorComponent, innerInterface, false);
+                    InterfaceProvisionRelation outerInterfaceRelation = new InterfaceProvisionRelation(
+                            composite, outerInterface, false);
+                    CompositeProvisionDelegationRelation delegationRelation = new CompositeProvisionDelegationRelation(
+                            outerInterfaceRelation, innerInterfaceRelation, false);
+
+                    // Add delegation relation to discoverer
+                    decomposition.provisionDelegations.add(delegationRelation);
+                } else if (connector instanceof RequiredDelegationConnector) {
+                    RequiredDelegationConnector requiredDelegationConnector = (RequiredDelegationConnector) connector;
+
+                    // Wrap the requiring component & the inner and outer role's interfaces
+                    Component<?> connectorComponent = wrappers.getComponent(
+                            requiredDelegationConnector.getAssemblyContext_RequiredDelegationConnector()
+                                    .getEncapsulatedComponent__AssemblyContext());
+                    Interface innerInterface = wrappers.getInterface(
+                            requiredDelegationConnector.getInnerRequiredRole_RequiredDelegationConnector()
+                                    .getRequiredInterface__OperationRequiredRole());
+                    Interface outerInterface = wrappers.getInterface(
+                            requiredDelegationConnector.getOuterRequiredRole_RequiredDelegationConnector()
+                                    .getRequiredInterface__OperationRequiredRole());
+
+                    // Create interface relations & delegation relation
+                    InterfaceRequirementRelation innerInterfaceRelation = new InterfaceRequirementRelation(
+                            connectorComponent, innerInterface, false);
+                    InterfaceRequirementRelation outerInterfaceRelation = new InterfaceRequirementRelation(
+                            composite, outerInterface, false);
+                    CompositeRequirementDelegationRelation delegationRelation = new CompositeRequirementDelegationRelation(
+                            outerInterfaceRelation, innerInterfaceRelation, false);
+
+                    // Add delegation relation to discoverer
+                    decomposition.requirementDelegations.add(delegationRelation);
+                }
+            }
+        } else {
+            // Ignore repository components that are neither basic nor composite
+            return;
+        }
+
+        // Behavior for generic repository components
+        // Transform provided roles into interface provision relations
+        for (ProvidedRole providedRole : repositoryComponent.getProvidedRoles_InterfaceProvidingEntity()) {
+            if (providedRole instanceof OperationProvidedRole) {
+                OperationProvidedRole operationProvidedRole = (OperationProvidedRole) providedRole;
+                Interface providerInterface = wrappers
+                        .getInterface(operationProvidedRole.getProvidedInterface__OperationProvidedRole());
+                decomposition.interfaceProvisions
+                        .add(new InterfaceProvisionRelation(component, providerInterface, false));
+                addSignatureProvisions(providerInterface, wrappers, decomposition);
+            }
+        }
+
+        // Transform required roles into interface requirement relations
+        for (RequiredRole requiredRole : repositoryComponent.getRequiredRoles_InterfaceRequiringEntity()) {
+            if (requiredRole instanceof OperationRequiredRole) {
+                OperationRequiredRole operationRequiredRole = (OperationRequiredRole) requiredRole;
+                Interface consumerInterface = wrappers
+                        .getInterface(operationRequiredRole.getRequiredInterface__OperationRequiredRole());
+                decomposition.interfaceRequirements
+                        .add(new InterfaceRequirementRelation(component, consumerInterface, false));
+                addSignatureProvisions(consumerInterface, wrappers, decomposition);
+            }
+        }
+    }
+
+    private void addSignatureProvisions(Interface interFace, WrapperCache wrappers, Decomposition decomposition) {
+        // Signature provisions are only created once per interface, not once per role
+        if (!wrappers.claimSignatures(interFace)) {
+            return;
+        }
+        for (OperationSignature operationSignature : interFace.getValue().getSignatures__OperationInterface()) {
+            Signature signatureWrapper = wrappers.getSignature(operationSignature);
+            decomposition.signatureProvisions.add(new SignatureProvisionRelation(signatureWrapper, interFace, false));
+        }
+    }
+
+    /**
+     * Holds one wrapper per wrapped PCM element, so that equal wrappers are not created and compared over and over
+     * again. EMF objects do not override equals, hence the maps are keyed by identity.
+     */
+    private static final class WrapperCache {
+        private final Map<RepositoryComponent, Component<?>> components = new ConcurrentHashMap<>();
+        private final Map<OperationInterface, Interface> interfaces = new ConcurrentHashMap<>();
+        private final Map<OperationSignature, Signature> signatures = new ConcurrentHashMap<>();
+        private final Set<Interface> interfacesWithSignatures = ConcurrentHashMap.newKeySet();
+
+        Component<?> getComponent(RepositoryComponent repositoryComponent) {
+            // Components that are neither basic nor composite are not wrapped and not cached
+            if (repositoryComponent instanceof BasicComponent) {
+                return components.computeIfAbsent(repositoryComponent,
+                        key -> new AtomicComponent((BasicComponent) key, false));
+            } else if (repositoryComponent instanceof CompositeComponent) {
+                return components.computeIfAbsent(repositoryComponent,
+                        key -> new Composite((CompositeComponent) key, false));
+            }
+            return null;
+        }
+
+        Interface getInterface(OperationInterface operationInterface) {
+            return interfaces.computeIfAbsent(operationInterface, key -> new Interface(key, false));
+        }
+
+        Signature getSignature(OperationSignature operationSignature) {
+            return signatures.computeIfAbsent(operationSignature, key -> new Signature(key, false));
+        }
+
+        /**
+         * Returns whether the signatures of the interface still have to be provided, and marks them as provided.
+         */
+        boolean claimSignatures(Interface interFace) {
+            return interfacesWithSignatures.add(interFace);
+        }
+    }
+
+    /**
+     * The elements and relations extracted from a part of the repository.
+     */
+    private static final class Decomposition {
+        private final Set<AtomicComponent> atomicComponents = new HashSet<>();
+        private final Set<Composite> composites = new HashSet<>();
+        private final Set<CompositionRelation> compositions = new HashSet<>();
+        private final Set<InterfaceProvisionRelation> interfaceProvisions = new HashSet<>();
+        private final Set<InterfaceRequirementRelation> interfaceRequirements = new HashSet<>();
+        private final Set<SignatureProvisionRelation> signatureProvisions = new HashSet<>();
+        private final Set<ServiceEffectSpecificationRelation> seffProvisions = new HashSet<>();
+        private final Set<ComponentAssemblyRelation> componentAssemblies = new HashSet<>();
+        private final Set<CompositeProvisionDelegationRelation> provisionDelegations = new HashSet<>();
+        private final Set<CompositeRequirementDelegationRelation> requirementDelegations = new HashSet<>();
+
+        void addAll(Decomposition other) {
+            atomicComponents.addAll(other.atomicComponents);
+            composites.addAll(other.composites);
+            compositions.addAll(other.compositions);
+            interfaceProvisions.addAll(other.interfaceProvisions);
+            interfaceRequirements.addAll(other.interfaceRequirements);
+            signatureProvisions.addAll(other.signatureProvisions);
+            seffProvisions.addAll(other.seffProvisions);
+            componentAssemblies.addAll(other.componentAssemblies);
+            provisionDelegations.addAll(other.provisionDelegations);
+            requirementDelegations.addAll(other.requirementDelegations);
         }
-        return wrapper;
     }
 }
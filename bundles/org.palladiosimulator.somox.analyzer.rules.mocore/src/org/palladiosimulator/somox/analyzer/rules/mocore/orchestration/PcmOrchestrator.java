@@ -1,5 +1,13 @@
 package org.palladiosimulator.somox.analyzer.rules.mocore.orchestration;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
 import org.palladiosimulator.somox.analyzer.rules.mocore.processor.element.AtomicComponentProcessor;
 import org.palladiosimulator.somox.analyzer.rules.mocore.processor.element.CompositeProcessor;
 import org.palladiosimulator.somox.analyzer.rules.mocore.processor.element.DeploymentProcessor;
@@ -20,10 +28,42 @@ import org.palladiosimulator.somox.analyzer.rules.mocore.processor.relation.Link
 import org.palladiosimulator.somox.analyzer.rules.mocore.processor.relation.ServiceEffectSpecificationRelationProcessor;
 import org.palladiosimulator.somox.analyzer.rules.mocore.processor.relation.SignatureProvisionRelationProcessor;
 import org.palladiosimulator.somox.analyzer.rules.mocore.surrogate.PcmSurrogate;
+import org.palladiosimulator.somox.analyzer.rules.mocore.surrogate.element.AtomicComponent;
+import org.palladiosimulator.somox.analyzer.rules.mocore.surrogate.element.Composite;
+import org.palladiosimulator.somox.analyzer.rules.mocore.surrogate.element.Deployment;
+import org.palladiosimulator.somox.analyzer.rules.mocore.surrogate.element.Interface;
+import org.palladiosimulator.somox.analyzer.rules.mocore.surrogate.element.LinkResourceSpecification;
+import org.palladiosimulator.somox.analyzer.rules.mocore.surrogate.element.ServiceEffectSpecification;
+import org.palladiosimulator.somox.analyzer.rules.mocore.surrogate.element.Signature;
+import org.palladiosimulator.somox.analyzer.rules.mocore.surrogate.relation.ComponentAllocationRelation;
+import org.palladiosimulator.somox.analyzer.rules.mocore.surrogate.relation.ComponentAssemblyRelation;
+import org.palladiosimulator.somox.analyzer.rules.mocore.surrogate.relation.ComponentSignatureProvisionRelation;
+import org.palladiosimulator.somox.analyzer.rules.mocore.surrogate.relation.CompositeProvisionDelegationRelation;
+import org.palladiosimulator.somox.analyzer.rules.mocore.surrogate.relation.CompositeRequirementDelegationRelation;
+import org.palladiosimulator.somox.analyzer.rules.mocore.surrogate.relation.CompositionRelation;
+import org.palladiosimulator.somox.analyzer.rules.mocore.surrogate.relation.DeploymentDeploymentRelation;
+import org.palladiosimulator.somox.analyzer.rules.mocore.surrogate.relation.InterfaceProvisionRelation;
+import org.palladiosimulator.somox.analyzer.rules.mocore.surrogate.relation.InterfaceRequirementRelation;
+import org.palladiosimulator.somox.analyzer.rules.mocore.surrogate.relation.LinkResourceSpecificationRelation;
+import org.palladiosimulator.somox.analyzer.rules.mocore.surrogate.relation.ServiceEffectSpecificationRelation;
+import org.palladiosimulator.somox.analyzer.rules.mocore.surrogate.relation.SignatureProvisionRelation;
 
+import tools.mdsd.mocore.framework.discovery.Discoverer;
 import tools.mdsd.mocore.framework.orchestration.Orchestrator;
+import tools.mdsd.mocore.framework.surrogate.Replaceable;
 
 public class PcmOrchestrator extends Orchestrator<PcmSurrogate> {
+    // Order of the batched refinement: Elements first, as their rules only check for existing relations. Then
+    // relations between elements, and finally relations that depend on the allocations created by the former.
+    private static final List<Class<? extends Replaceable>> REFINEMENT_ORDER = List.of(Signature.class,
+            Interface.class, AtomicComponent.class, Composite.class, Deployment.class, LinkResourceSpecification.class,
+            ServiceEffectSpecification.class, SignatureProvisionRelation.class, InterfaceProvisionRelation.class,
+            InterfaceRequirementRelation.class, CompositionRelation.class, ComponentSignatureProvisionRelation.class,
+            ServiceEffectSpecificationRelation.class, ComponentAllocationRelation.class,
+            ComponentAssemblyRelation.class, DeploymentDeploymentRelation.class,
+            LinkResourceSpecificationRelation.class, CompositeRequirementDelegationRelation.class,
+            CompositeProvisionDelegationRelation.class);
+
     public PcmOrchestrator(PcmSurrogate model) {
         super(model, new SignatureProcessor(model), new InterfaceProcessor(model),
                 new DeploymentProcessor(model), new LinkResourceSpecificationProcessor(model),
@@ -40,4 +80,41 @@ public class PcmOrchestrator extends Orchestrator<PcmSurrogate> {
     public PcmOrchestrator() {
         this(new PcmSurrogate());
     }
+
+    /**
+     * Processes the discoveries of all discoverers in one batch. In contrast to processing one discoverer after
+     * another, all discoveries are added to the model before any of them is refined. Refinement therefore finds the
+     * discovered elements and relations instead of creating placeholders, which would be replaced by later
+     * discoveries.
+     *
+     * @param discoverers the discoverers to process
+     */
+    public void processDiscoverers(Collection<Discoverer<?>> discoverers) {
+        // Add all discoveries to the model first
+        Map<Class<?>, Set<Replaceable>> discoveriesByType = new LinkedHashMap<>();
+        for (Discoverer<?> discoverer : discoverers) {
+            Set<Replaceable> discoveries = discoveriesByType.computeIfAbsent(discoverer.getDiscoveryType(),
+                    type -> new LinkedHashSet<>());
+            for (Replaceable discovery : discoverer.getDiscoveries()) {
+                getModel().add(discovery);
+                discoveries.add(discovery);
+            }
+        }
+
+        // Refine the discoveries in dependency order, types without a defined position come last
+        List<Class<?>> types = new ArrayList<>(REFINEMENT_ORDER);
+        for (Class<?> type : discoveriesByType.keySet()) {
+            if (!types.contains(type)) {
+                types.add(type);
+            }
+        }
+        for (Class<?> type : types) {
+            for (Replaceable discovery : discoveriesByType.getOrDefault(type, Set.of())) {
+                // A discovery might have been replaced during the refinement of another one
+                if (getModel().contains(discovery)) {
+                    processDiscovery(discovery);
+                }
+            }
+        }
+    }
 }
@@ -16,11 +16,11 @@ public abstract class ComponentProcessor<T extends Component<?>> extends Process
 
     @Override
     protected void refine(T discovery) {
-        List<ComponentAllocationRelation> deploymentRelations = getModel().getByType(ComponentAllocationRelation.class);
-        deploymentRelations.removeIf(relation -> !relation.getSource().equals(discovery));
+        List<ComponentAllocationRelation> deploymentRelations = getModel().getBySource(
+                ComponentAllocationRelation.class, discovery);
 
         if (deploymentRelations.isEmpty()) {
-            Deployment deployment = Deployment.getUniquePlaceholder();
+            Deployment deployment = getModel().getPlaceholderDeployment();
             ComponentAllocationRelation relation = new ComponentAllocationRelation(discovery, deployment, true);
             addImplication(relation);
         }
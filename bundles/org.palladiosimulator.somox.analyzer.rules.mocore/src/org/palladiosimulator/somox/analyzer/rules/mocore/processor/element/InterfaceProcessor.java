@@ -18,8 +18,8 @@ public class InterfaceProcessor extends Processor<PcmSurrogate, Interface> {
 
     @Override
     protected void refine(Interface discovery) {
-        List<InterfaceProvisionRelation> providesRelations = getModel().getByType(InterfaceProvisionRelation.class);
-        providesRelations.removeIf(relation -> !relation.getDestination().equals(discovery));
+        List<InterfaceProvisionRelation> providesRelations = getModel().getByDestination(
+                InterfaceProvisionRelation.class, discovery);
 
         // Rule: Each interface has to be provided by a component.
         // -> If no provision relation exists yet, add a placeholder provider and relation to the model.
@@ -1,7 +1,6 @@
 package org.palladiosimulator.somox.analyzer.rules.mocore.processor.element;
 
 import java.util.List;
-import java.util.Objects;
 
 import org.palladiosimulator.somox.analyzer.rules.mocore.surrogate.PcmSurrogate;
 import org.palladiosimulator.somox.analyzer.rules.mocore.surrogate.element.Deployment;
@@ -19,8 +18,7 @@ public class LinkResourceSpecificationProcessor extends Processor<PcmSurrogate,
     @Override
     protected void refine(LinkResourceSpecification discovery) {
         List<LinkResourceSpecificationRelation> relations = this.getModel()
-                .getByType(LinkResourceSpecificationRelation.class);
-        relations.removeIf(relation -> !Objects.equals(relation.getSource(), discovery));
+                .getBySource(LinkResourceSpecificationRelation.class, discovery);
 
         if (relations.isEmpty()) {
             Deployment sourcePlaceholder = Deployment.getUniquePlaceholder();
@@ -1,7 +1,16 @@
 package org.palladiosimulator.somox.analyzer.rules.mocore.processor.relation;
 
+import java.util.LinkedHashSet;
+import java.util.Set;
+
 import org.palladiosimulator.somox.analyzer.rules.mocore.surrogate.PcmSurrogate;
+import org.palladiosimulator.somox.analyzer.rules.mocore.surrogate.element.Component;
+import org.palladiosimulator.somox.analyzer.rules.mocore.surrogate.element.Deployment;
 import org.palladiosimulator.somox.analyzer.rules.mocore.surrogate.relation.ComponentAllocationRelation;
+import org.palladiosimulator.somox.analyzer.rules.mocore.surrogate.relation.ComponentAssemblyRelation;
+import org.palladiosimulator.somox.analyzer.rules.mocore.surrogate.relation.DeploymentDeploymentRelation;
+import org.palladiosimulator.somox.analyzer.rules.mocore.surrogate.relation.InterfaceProvisionRelation;
+import org.palladiosimulator.somox.analyzer.rules.mocore.surrogate.relation.InterfaceRequirementRelation;
 
 import tools.mdsd.mocore.framework.processor.RelationProcessor;
 
@@ -9,4 +18,94 @@ public class ComponentAllocationRelationProcessor extends RelationProcessor<PcmS
     public ComponentAllocationRelationProcessor(PcmSurrogate model) {
         super(model, ComponentAllocationRelation.class);
     }
+
+    @Override
+    protected void replaceIndirectPlaceholders(ComponentAllocationRelation discovery) {
+        // The default deployment is shared by other components and must not be replaced by the allocated container.
+        // Instead, only the allocation of the discovered component to the default deployment is replaced.
+        for (ComponentAllocationRelation allocation : this.getModel()
+                .getBySource(ComponentAllocationRelation.class, discovery.getSource())) {
+            if (allocation.isPlaceholder() && !allocation.equals(discovery)
+                    && this.getModel().isDefaultDeployment(allocation.getDestination())) {
+                this.addImplications(this.getModel().replace(allocation, discovery));
+                moveDeploymentLinks(discovery.getSource(), allocation.getDestination(), discovery.getDestination());
+            }
+        }
+        super.replaceIndirectPlaceholders(discovery);
+    }
+
+    /**
+     * Moves the container links that the assemblies of the component caused from the default deployment to the
+     * container the component is allocated to now. A link stays at the default deployment as long as other components
+     * on it still need it.
+     */
+    private void moveDeploymentLinks(Component<?> component, Deployment defaultDeployment, Deployment container) {
+        for (Component<?> partner : getAssemblyPartners(component)) {
+            for (Deployment partnerContainer : getAllocatedContainers(partner)) {
+                if (partnerContainer.equals(container)) {
+                    continue;
+                }
+                boolean isLinked = !this.getModel().getDeploymentLinks(container, partnerContainer).isEmpty();
+                if (!isLinkNeeded(defaultDeployment, partnerContainer)) {
+                    for (DeploymentDeploymentRelation link : this.getModel()
+                            .getDeploymentLinks(defaultDeployment, partnerContainer)) {
+                        // Keeps the direction of the link and the specifications attached to it
+                        DeploymentDeploymentRelation movedLink = link.getSource().equals(defaultDeployment)
+                                ? new DeploymentDeploymentRelation(container, link.getDestination(),
+                                        link.isPlaceholder())
+                                : new DeploymentDeploymentRelation(link.getSource(), container, link.isPlaceholder());
+                        this.addImplications(this.getModel().replace(link, movedLink));
+                        isLinked = true;
+                    }
+                }
+                if (!isLinked) {
+                    this.addImplication(new DeploymentDeploymentRelation(container, partnerContainer, true));
+                }
+            }
+        }
+    }
+
+    private boolean isLinkNeeded(Deployment defaultDeployment, Deployment partnerContainer) {
+        if (defaultDeployment.equals(partnerContainer)) {
+            return false;
+        }
+        for (ComponentAllocationRelation allocation : this.getModel()
+                .getByDestination(ComponentAllocationRelation.class, defaultDeployment)) {
+            for (Component<?> partner : getAssemblyPartners(allocation.getSource())) {
+                if (getAllocatedContainers(partner).contains(partnerContainer)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private Set<Component<?>> getAssemblyPartners(Component<?> component) {
+        Set<Component<?>> partners = new LinkedHashSet<>();
+        for (InterfaceProvisionRelation provision : this.getModel()
+                .getBySource(InterfaceProvisionRelation.class, component)) {
+            for (ComponentAssemblyRelation assembly : this.getModel()
+                    .getBySource(ComponentAssemblyRelation.class, provision)) {
+                partners.add(assembly.getDestination().getSource());
+            }
+        }
+        for (InterfaceRequirementRelation requirement : this.getModel()
+                .getBySource(InterfaceRequirementRelation.class, component)) {
+            for (ComponentAssemblyRelation assembly : this.getModel()
+                    .getByDestination(ComponentAssemblyRelation.class, requirement)) {
+                partners.add(assembly.getSource().getSource());
+            }
+        }
+        partners.remove(component);
+        return partners;
+    }
+
+    private Set<Deployment> getAllocatedContainers(Component<?> component) {
+        Set<Deployment> containers = new LinkedHashSet<>();
+        for (ComponentAllocationRelation allocation : this.getModel()
+                .getBySource(ComponentAllocationRelation.class, component)) {
+            containers.add(allocation.getDestination());
+        }
+        return containers;
+    }
 }
@@ -1,16 +1,21 @@
 package org.palladiosimulator.somox.analyzer.rules.mocore.processor.relation;
 
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.palladiosimulator.somox.analyzer.rules.mocore.surrogate.PcmSurrogate;
+import org.palladiosimulator.somox.analyzer.rules.mocore.surrogate.PlaceholderMerger;
 import org.palladiosimulator.somox.analyzer.rules.mocore.surrogate.element.Component;
 import org.palladiosimulator.somox.analyzer.rules.mocore.surrogate.element.Deployment;
 import org.palladiosimulator.somox.analyzer.rules.mocore.surrogate.element.Interface;
 import org.palladiosimulator.somox.analyzer.rules.mocore.surrogate.relation.ComponentAllocationRelation;
 import org.palladiosimulator.somox.analyzer.rules.mocore.surrogate.relation.ComponentAssemblyRelation;
 import org.palladiosimulator.somox.analyzer.rules.mocore.surrogate.relation.DeploymentDeploymentRelation;
+import org.palladiosimulator.somox.analyzer.rules.mocore.surrogate.relation.InterfaceProvisionRelation;
 
 import tools.mdsd.mocore.framework.processor.RelationProcessor;
 
@@ -30,23 +35,28 @@ public class ComponentAssemblyRelationProcessor extends RelationProcessor<PcmSur
 
         // Add link between allocation containers of assembled components if needed
         if (providerAllocations.isEmpty()) {
-            Deployment placeholderDeployment = Deployment.getUniquePlaceholder();
+            Deployment placeholderDeployment = this.getModel().getPlaceholderDeployment();
             ComponentAllocationRelation allocation = new ComponentAllocationRelation(provider,
                     placeholderDeployment, true);
             providerAllocations.add(placeholderDeployment);
             this.addImplication(allocation);
         }
         if (consumerAllocations.isEmpty()) {
-            Deployment placeholderDeployment = Deployment.getUniquePlaceholder();
+            Deployment placeholderDeployment = this.getModel().getPlaceholderDeployment();
             ComponentAllocationRelation allocation = new ComponentAllocationRelation(consumer,
                     placeholderDeployment, true);
             consumerAllocations.add(placeholderDeployment);
             this.addImplication(allocation);
         }
+        // Container links are bi-directional => Each unordered pair of containers is linked at most once
+        Set<Set<Deployment>> linkedContainers = new HashSet<>();
         for (Deployment providerContainer : providerAllocations) {
             for (Deployment consumerContainer : consumerAllocations) {
-                if (!providerContainer.equals(consumerContainer)) {
+                if (!providerContainer.equals(consumerContainer)
+                        && linkedContainers.add(Set.of(providerContainer, consumerContainer))
+                        && this.getModel().getDeploymentLinks(providerContainer, consumerContainer).isEmpty()) {
                     // Connect every providing container with each consuming one, except they are the same container
+                    // or already linked in any direction
                     DeploymentDeploymentRelation containerLink = new DeploymentDeploymentRelation(providerContainer,
                             consumerContainer, true);
                     this.addImplication(containerLink);
@@ -55,16 +65,20 @@ public class ComponentAssemblyRelationProcessor extends RelationProcessor<PcmSur
         }
 
         // Remove component assembly fully-placeholder relation (non-direct & non-indirect)
-        List<ComponentAssemblyRelation> assemblies = this.getModel().getByType(ComponentAssemblyRelation.class);
-        assemblies.removeIf(assembly -> !assembly.getSource().isPlaceholder()
-                || !assembly.getDestination().isPlaceholder());
-        for (ComponentAssemblyRelation placeholderAssembly : assemblies) {
+        // Merges are collected first, then every merged element is replaced once by its final replacement
+        PlaceholderMerger merger = new PlaceholderMerger();
+        for (ComponentAssemblyRelation placeholderAssembly : getPlaceholderAssemblies(providerAllocations,
+                consumerAllocations)) {
             if (discovery.equals(placeholderAssembly)) {
                 continue;
             }
             Component<?> source = placeholderAssembly.getSource().getSource();
             Component<?> destination = placeholderAssembly.getDestination().getSource();
             Interface sourceDestinationInterface = placeholderAssembly.getSource().getDestination();
+            // Components are only merged once, like a replaced component is not found anymore
+            if (merger.isMerged(source) || merger.isMerged(destination)) {
+                continue;
+            }
             // Placeholder are unique and can only be allocated to a single container
             Optional<Deployment> optionalSourceContainer = getAllocatedContainers(source)
                     .stream().findFirst();
@@ -74,6 +88,10 @@ public class ComponentAssemblyRelationProcessor extends RelationProcessor<PcmSur
             if (optionalSourceContainer.isPresent() && optionalDestinationContainer.isPresent()) {
                 Deployment sourceContainer = optionalSourceContainer.get();
                 Deployment destinationContainer = optionalDestinationContainer.get();
+                if (this.getModel().isDefaultDeployment(sourceContainer)
+                        || this.getModel().isDefaultDeployment(destinationContainer)) {
+                    continue;
+                }
 
                 // Container links are bi-directional => Parallel or inverse assemblies are valid
                 boolean isParallelAssembly = providerAllocations.contains(sourceContainer)
@@ -81,22 +99,50 @@ public class ComponentAssemblyRelationProcessor extends RelationProcessor<PcmSur
                 boolean isInverseAssembly = providerAllocations.contains(destinationContainer)
                         && consumerAllocations.contains(sourceContainer);
                 if (isParallelAssembly || isInverseAssembly) {
-                    this.addImplications(this.getModel().replace(placeholderAssembly, discovery));
-                    this.addImplications(this.getModel().replace(source, provider));
-                    this.addImplications(this.getModel().replace(destination, consumer));
-                    this.addImplications(this.getModel().replace(sourceDestinationInterface,
-                            providerConsumerInterface));
+                    merger.merge(placeholderAssembly, discovery);
+                    merger.merge(source, provider);
+                    merger.merge(destination, consumer);
+                    merger.merge(sourceDestinationInterface, providerConsumerInterface);
                 }
             }
         }
+        this.addImplications(merger.replaceIn(this.getModel()));
 
         super.refine(discovery);
     }
 
+    private Set<ComponentAssemblyRelation> getPlaceholderAssemblies(List<Deployment> providerAllocations,
+            List<Deployment> consumerAllocations) {
+        // Candidates have to share a container with the provider or consumer. Therefore, only the assemblies of
+        // components allocated to these containers are checked, instead of all assemblies of the model.
+        Set<Deployment> containers = new LinkedHashSet<>(providerAllocations);
+        containers.addAll(consumerAllocations);
+        Set<ComponentAssemblyRelation> assemblies = new LinkedHashSet<>();
+        for (Deployment container : containers) {
+            // The default deployment is shared by unrelated components and is therefore no evidence for a merge
+            if (this.getModel().isDefaultDeployment(container)) {
+                continue;
+            }
+            for (ComponentAllocationRelation allocation : this.getModel()
+                    .getByDestination(ComponentAllocationRelation.class, container)) {
+                for (InterfaceProvisionRelation provision : this.getModel()
+                        .getBySource(InterfaceProvisionRelation.class, allocation.getSource())) {
+                    for (ComponentAssemblyRelation assembly : this.getModel()
+                            .getBySource(ComponentAssemblyRelation.class, provision)) {
+                        if (assembly.getSource().isPlaceholder() && assembly.getDestination().isPlaceholder()) {
+                            assemblies.add(assembly);
+                        }
+                    }
+                }
+            }
+        }
+        return assemblies;
+    }
+
     private List<Deployment> getAllocatedContainers(Component<?> component) {
-        List<ComponentAllocationRelation> allocations = this.getModel().getByType(ComponentAllocationRelation.class);
+        List<ComponentAllocationRelation> allocations = this.getModel()
+                .getBySource(ComponentAllocationRelation.class, component);
         return allocations.stream()
-                .filter(allocation -> allocation.getSource().equals(component))
                 .map(ComponentAllocationRelation::getDestination)
                 .collect(Collectors.toList());
     }
@@ -22,8 +22,8 @@ public class CompositeProvisionDelegationRelationProcessor
         Component<?> discoveryChild = discovery.getDestination().getSource();
 
         // Check if the sub-component is part of the composite already
-        List<CompositionRelation> compositions = getModel().getByType(CompositionRelation.class);
-        compositions.removeIf(relation -> !discoveryComposite.equals(relation.getSource()));
+        List<CompositionRelation> compositions = getModel().getBySource(CompositionRelation.class,
+                discoveryComposite);
         compositions.removeIf(relation -> !discoveryChild.equals(relation.getDestination()));
         if (compositions.isEmpty()) {
             CompositionRelation composition = new CompositionRelation(discoveryComposite, discoveryChild, true);
@@ -1,7 +1,7 @@
 package org.palladiosimulator.somox.analyzer.rules.mocore.processor.relation;
 
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Objects;
 
 import org.palladiosimulator.somox.analyzer.rules.mocore.surrogate.PcmSurrogate;
 import org.palladiosimulator.somox.analyzer.rules.mocore.surrogate.element.LinkResourceSpecification;
@@ -17,13 +17,17 @@ public class DeploymentDeploymentRelationProcessor extends RelationProcessor<Pcm
 
     @Override
     protected void refine(DeploymentDeploymentRelation discovery) {
-        // Check whether a linking resource specification already exists for the link to be merged
-        List<LinkResourceSpecificationRelation> specifications = this.getModel()
-                .getByType(LinkResourceSpecificationRelation.class);
-        specifications.removeIf(specification -> !Objects.equals(discovery, specification.getDestination()));
+        // Check whether a linking resource specification already exists for the link to be merged or any other link
+        // between the same containers, because container links are bi-directional
+        List<LinkResourceSpecificationRelation> specifications = new ArrayList<>();
+        for (DeploymentDeploymentRelation link : this.getModel()
+                .getDeploymentLinks(discovery.getSource(), discovery.getDestination())) {
+            specifications.addAll(this.getModel().getByDestination(LinkResourceSpecificationRelation.class, link));
+        }
+        specifications.addAll(this.getModel().getByDestination(LinkResourceSpecificationRelation.class, discovery));
         if (specifications.isEmpty()) {
             // Add implicit placeholder specification, if no specification is found for this deployment link
-            LinkResourceSpecification placeholderSpecification = LinkResourceSpecification.getUniquePlaceholder();
+            LinkResourceSpecification placeholderSpecification = this.getModel().getPlaceholderLinkSpecification();
             LinkResourceSpecificationRelation implicitRelation = new LinkResourceSpecificationRelation(
                     placeholderSpecification, discovery, true);
             this.addImplication(implicitRelation);
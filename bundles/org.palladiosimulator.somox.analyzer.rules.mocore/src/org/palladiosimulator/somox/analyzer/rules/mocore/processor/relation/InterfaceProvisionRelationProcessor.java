@@ -21,8 +21,7 @@ public class InterfaceProvisionRelationProcessor extends RelationProcessor<PcmSu
 
         // Get all requirements from model & filter for same interface as in discovery
         List<InterfaceRequirementRelation> requirementRelations = this.getModel()
-                .getByType(InterfaceRequirementRelation.class);
-        requirementRelations.removeIf(relation -> !relation.getDestination().equals(commonInterface));
+                .getByDestination(InterfaceRequirementRelation.class, commonInterface);
 
         // Create component assembly placeholder for pairs of provision & requirement relations
         for (InterfaceRequirementRelation requirementRelation : requirementRelations) {
@@ -22,8 +22,7 @@ public class InterfaceRequirementRelationProcessor
 
         // Get all requirements from model & filter for same interface as in discovery
         List<InterfaceProvisionRelation> provisionRelations = this.getModel()
-                .getByType(InterfaceProvisionRelation.class);
-        provisionRelations.removeIf(relation -> !relation.getDestination().equals(commonInterface));
+                .getByDestination(InterfaceProvisionRelation.class, commonInterface);
 
         // Create component assembly placeholder for pairs of provision & requirement relations
         for (InterfaceProvisionRelation provisionRelation : provisionRelations) {
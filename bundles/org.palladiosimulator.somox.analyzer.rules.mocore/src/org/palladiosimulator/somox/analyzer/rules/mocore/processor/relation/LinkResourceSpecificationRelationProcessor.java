@@ -10,4 +10,18 @@ public class LinkResourceSpecificationRelationProcessor
     public LinkResourceSpecificationRelationProcessor(PcmSurrogate model) {
         super(model, LinkResourceSpecificationRelation.class);
     }
+
+    @Override
+    protected void replaceIndirectPlaceholders(LinkResourceSpecificationRelation discovery) {
+        // The default specification is shared by other links and must not be replaced by the discovered specification.
+        // Instead, only the specification relation of the discovered link to the default specification is replaced.
+        for (LinkResourceSpecificationRelation specification : this.getModel()
+                .getByDestination(LinkResourceSpecificationRelation.class, discovery.getDestination())) {
+            if (specification.isPlaceholder() && !specification.equals(discovery)
+                    && this.getModel().isDefaultLinkSpecification(specification.getSource())) {
+                this.addImplications(this.getModel().replace(specification, discovery));
+            }
+        }
+        super.replaceIndirectPlaceholders(discovery);
+    }
 }
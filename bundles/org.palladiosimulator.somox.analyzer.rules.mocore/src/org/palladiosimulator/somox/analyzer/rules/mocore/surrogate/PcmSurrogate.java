@@ -1,9 +1,208 @@
 package org.palladiosimulator.somox.analyzer.rules.mocore.surrogate;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.palladiosimulator.somox.analyzer.rules.mocore.surrogate.element.Deployment;
+import org.palladiosimulator.somox.analyzer.rules.mocore.surrogate.element.LinkResourceSpecification;
+import org.palladiosimulator.somox.analyzer.rules.mocore.surrogate.relation.DeploymentDeploymentRelation;
+
 import tools.mdsd.mocore.framework.surrogate.Model;
+import tools.mdsd.mocore.framework.surrogate.Relation;
+import tools.mdsd.mocore.framework.surrogate.Replaceable;
 
 public class PcmSurrogate extends Model {
+    // Relations indexed by their source and destination, kept up to date on every add and replace
+    private final Map<Replaceable, Set<Relation<?, ?>>> relationsBySource;
+    private final Map<Replaceable, Set<Relation<?, ?>>> relationsByDestination;
+    private final boolean coalescedPlaceholders;
+    private Deployment defaultDeployment;
+    private LinkResourceSpecification defaultLinkSpecification;
+
     public PcmSurrogate() {
+        this(false);
+    }
+
+    /**
+     * @param coalescedPlaceholders
+     *            whether components without allocation share a single default deployment, and links without
+     *            specification share a single default link specification, instead of unique placeholders each
+     */
+    public PcmSurrogate(boolean coalescedPlaceholders) {
         super();
+        this.relationsBySource = new HashMap<>();
+        this.relationsByDestination = new HashMap<>();
+        this.coalescedPlaceholders = coalescedPlaceholders;
+    }
+
+    public boolean isCoalescedPlaceholders() {
+        return coalescedPlaceholders;
+    }
+
+    /**
+     * Returns the placeholder deployment for a component without allocation. This is a unique placeholder, or the
+     * default deployment if placeholders are coalesced.
+     */
+    public Deployment getPlaceholderDeployment() {
+        if (!coalescedPlaceholders) {
+            return Deployment.getUniquePlaceholder();
+        }
+        if (defaultDeployment == null) {
+            defaultDeployment = Deployment.getUniquePlaceholder();
+        }
+        return defaultDeployment;
+    }
+
+    /**
+     * Returns the placeholder specification for a link without specification. This is a unique placeholder, or the
+     * default specification if placeholders are coalesced.
+     */
+    public LinkResourceSpecification getPlaceholderLinkSpecification() {
+        if (!coalescedPlaceholders) {
+            return LinkResourceSpecification.getUniquePlaceholder();
+        }
+        if (defaultLinkSpecification == null) {
+            defaultLinkSpecification = LinkResourceSpecification.getUniquePlaceholder();
+        }
+        return defaultLinkSpecification;
+    }
+
+    /**
+     * Returns whether the deployment is the default deployment shared by all components without allocation.
+     */
+    public boolean isDefaultDeployment(Deployment deployment) {
+        return coalescedPlaceholders && deployment.equals(defaultDeployment);
+    }
+
+    /**
+     * Returns whether the specification is the default link specification shared by all links without specification.
+     */
+    public boolean isDefaultLinkSpecification(LinkResourceSpecification specification) {
+        return coalescedPlaceholders && specification.equals(defaultLinkSpecification);
+    }
+
+    @Override
+    public void add(Replaceable replaceable) {
+        super.add(replaceable);
+        if (replaceable instanceof Relation) {
+            index((Relation<?, ?>) replaceable);
+        }
+    }
+
+    @Override
+    public <T extends Replaceable> Set<Replaceable> replace(T original, T replacement) {
+        // Every relation including the original, directly or via another relation, is replaced
+        Set<Relation<?, ?>> replacedRelations = getIncludingRelations(original);
+        Set<Replaceable> implications = super.replace(original, replacement);
+        for (Relation<?, ?> relation : replacedRelations) {
+            unindex(relation);
+        }
+        for (Relation<?, ?> relation : replacedRelations) {
+            if (contains(relation)) {
+                index(relation);
+                continue;
+            }
+            Replaceable relationReplacement = relation.replace(original, replacement);
+            if (relationReplacement instanceof Relation && contains(relationReplacement)) {
+                index((Relation<?, ?>) relationReplacement);
+            }
+        }
+        return implications;
+    }
+
+    /**
+     * Returns all relations of a type whose source equals the given replaceable, without scanning
+     * the whole model.
+     */
+    public <T extends Relation<?, ?>> List<T> getBySource(Class<T> type, Replaceable source) {
+        return filter(relationsBySource.getOrDefault(source, Collections.emptySet()), type);
+    }
+
+    /**
+     * Returns all relations of a type whose destination equals the given replaceable, without
+     * scanning the whole model.
+     */
+    public <T extends Relation<?, ?>> List<T> getByDestination(Class<T> type, Replaceable destination) {
+        return filter(relationsByDestination.getOrDefault(destination, Collections.emptySet()), type);
+    }
+
+    /**
+     * Returns all links between both deployments regardless of their direction, because container links are
+     * bi-directional.
+     */
+    public List<DeploymentDeploymentRelation> getDeploymentLinks(Deployment first, Deployment second) {
+        List<DeploymentDeploymentRelation> links = new ArrayList<>();
+        for (DeploymentDeploymentRelation link : getBySource(DeploymentDeploymentRelation.class, first)) {
+            if (link.getDestination().equals(second)) {
+                links.add(link);
+            }
+        }
+        for (DeploymentDeploymentRelation link : getBySource(DeploymentDeploymentRelation.class, second)) {
+            if (link.getDestination().equals(first) && !links.contains(link)) {
+                links.add(link);
+            }
+        }
+        return links;
+    }
+
+    private Set<Relation<?, ?>> getIncludingRelations(Replaceable replaceable) {
+        Set<Relation<?, ?>> relations = new LinkedHashSet<>();
+        if (replaceable instanceof Relation) {
+            relations.add((Relation<?, ?>) replaceable);
+        }
+        Deque<Replaceable> queue = new ArrayDeque<>();
+        queue.add(replaceable);
+        while (!queue.isEmpty()) {
+            Replaceable current = queue.poll();
+            List<Relation<?, ?>> neighbors = new ArrayList<>();
+            neighbors.addAll(relationsBySource.getOrDefault(current, Collections.emptySet()));
+            neighbors.addAll(relationsByDestination.getOrDefault(current, Collections.emptySet()));
+            for (Relation<?, ?> relation : neighbors) {
+                if (relations.add(relation)) {
+                    queue.add(relation);
+                }
+            }
+        }
+        return relations;
+    }
+
+    private void index(Relation<?, ?> relation) {
+        relationsBySource.computeIfAbsent(relation.getSource(), key -> new LinkedHashSet<>())
+                .add(relation);
+        relationsByDestination.computeIfAbsent(relation.getDestination(), key -> new LinkedHashSet<>())
+                .add(relation);
+    }
+
+    private void unindex(Relation<?, ?> relation) {
+        remove(relationsBySource, relation.getSource(), relation);
+        remove(relationsByDestination, relation.getDestination(), relation);
+    }
+
+    private static void remove(Map<Replaceable, Set<Relation<?, ?>>> index, Replaceable key,
+            Relation<?, ?> relation) {
+        Set<Relation<?, ?>> relations = index.get(key);
+        if (relations != null) {
+            relations.remove(relation);
+            if (relations.isEmpty()) {
+                index.remove(key);
+            }
+        }
+    }
+
+    private static <T extends Relation<?, ?>> List<T> filter(Set<Relation<?, ?>> relations, Class<T> type) {
+        List<T> result = new ArrayList<>();
+        for (Relation<?, ?> relation : relations) {
+            if (type.isInstance(relation)) {
+                result.add(type.cast(relation));
+            }
+        }
+        return result;
     }
 }
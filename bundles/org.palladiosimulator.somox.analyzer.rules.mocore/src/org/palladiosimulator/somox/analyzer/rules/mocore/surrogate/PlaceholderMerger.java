@@ -0,0 +1,114 @@
+package org.palladiosimulator.somox.analyzer.rules.mocore.surrogate;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import tools.mdsd.mocore.framework.surrogate.Model;
+import tools.mdsd.mocore.framework.surrogate.Replaceable;
+
+/**
+ * Collects equivalence classes of placeholders and the replaceables they are merged into, and replaces them within a
+ * model afterwards. The classes are kept in a union-find structure with union by size and path compression, so that
+ * merging is amortized near-constant.
+ * <p>
+ * Replacing still costs one {@link Model#replace(Replaceable, Replaceable)} per merged member, as replacing right away
+ * did. However, every member is replaced exactly once and directly by the final replacement of its class, instead of
+ * by intermediate replacements that are replaced again later on.
+ */
+public class PlaceholderMerger {
+    // Insertion ordered, so that the merged replaceables are replaced in the order they were merged
+    private final Map<Replaceable, Replaceable> parents;
+    private final Map<Replaceable, Integer> sizes;
+    private final Map<Replaceable, Replaceable> replacements;
+
+    public PlaceholderMerger() {
+        this.parents = new LinkedHashMap<>();
+        this.sizes = new HashMap<>();
+        this.replacements = new HashMap<>();
+    }
+
+    /**
+     * Merges the class of the original into the class of the replacement. All members of both classes are replaced by
+     * the replacement of the latter class.
+     */
+    public void merge(Replaceable original, Replaceable replacement) {
+        Replaceable originalRoot = find(original);
+        Replaceable replacementRoot = find(replacement);
+        if (originalRoot.equals(replacementRoot)) {
+            return;
+        }
+        Replaceable target = replacements.get(replacementRoot);
+
+        // Union by size
+        int originalSize = sizes.get(originalRoot);
+        int replacementSize = sizes.get(replacementRoot);
+        Replaceable root;
+        if (originalSize > replacementSize) {
+            parents.put(replacementRoot, originalRoot);
+            root = originalRoot;
+        } else {
+            parents.put(originalRoot, replacementRoot);
+            root = replacementRoot;
+        }
+        sizes.put(root, originalSize + replacementSize);
+        replacements.put(root, target);
+    }
+
+    /**
+     * Returns whether the replaceable has already been merged with another one.
+     */
+    public boolean isMerged(Replaceable replaceable) {
+        return parents.containsKey(replaceable) && sizes.get(find(replaceable)) > 1;
+    }
+
+    /**
+     * Returns the replaceable that the given replaceable is replaced by, or the replaceable itself if it is not merged.
+     */
+    public Replaceable getReplacement(Replaceable replaceable) {
+        if (!parents.containsKey(replaceable)) {
+            return replaceable;
+        }
+        return replacements.get(find(replaceable));
+    }
+
+    /**
+     * Replaces every merged replaceable within the model by the replacement of its class, one replacement per member.
+     *
+     * @return the implications of all replacements
+     */
+    public Set<Replaceable> replaceIn(Model model) {
+        Set<Replaceable> implications = new HashSet<>();
+        for (Replaceable member : parents.keySet()) {
+            Replaceable replacement = getReplacement(member);
+            if (!member.equals(replacement) && model.contains(member)) {
+                implications.addAll(model.replace(member, replacement));
+            }
+        }
+        return implications;
+    }
+
+    private Replaceable find(Replaceable replaceable) {
+        if (!parents.containsKey(replaceable)) {
+            parents.put(replaceable, replaceable);
+            sizes.put(replaceable, 1);
+            replacements.put(replaceable, replaceable);
+            return replaceable;
+        }
+
+        // Find root, then compress the path to it
+        Replaceable root = replaceable;
+        while (!parents.get(root).equals(root)) {
+            root = parents.get(root);
+        }
+        Replaceable current = replaceable;
+        while (!current.equals(root)) {
+            Replaceable next = parents.get(current);
+            parents.put(current, root);
+            current = next;
+        }
+        return root;
+    }
+}
@@ -2,10 +2,12 @@ package org.palladiosimulator.somox.analyzer.rules.mocore.transformation;
 
 import java.util.List;
 
+import org.apache.log4j.Logger;
 import org.palladiosimulator.generator.fluent.allocation.api.IAllocationAddition;
 import org.palladiosimulator.generator.fluent.allocation.factory.FluentAllocationFactory;
 import org.palladiosimulator.generator.fluent.allocation.structure.AllocationContextCreator;
 import org.palladiosimulator.pcm.allocation.Allocation;
+import org.palladiosimulator.pcm.repository.Repository;
 import org.palladiosimulator.pcm.resourceenvironment.ResourceEnvironment;
 import org.palladiosimulator.pcm.system.System;
 import org.palladiosimulator.somox.analyzer.rules.mocore.surrogate.PcmSurrogate;
@@ -14,9 +16,18 @@ import org.palladiosimulator.somox.analyzer.rules.mocore.surrogate.relation.Comp
 import tools.mdsd.mocore.framework.transformation.Transformer;
 
 public class AllocationTransformer implements Transformer<PcmSurrogate, Allocation> {
+    private static final Logger LOG = Logger.getLogger(AllocationTransformer.class);
+
+    /**
+     * Transforms the repository, system and resource environment of the model as well. Use
+     * {@link #transform(PcmSurrogate, System, ResourceEnvironment)} if they have already been transformed.
+     */
     @Override
     public Allocation transform(PcmSurrogate model) {
-        System system = new SystemTransformer().transform(model);
+        LOG.info("Transforming repository, system and resource environment for allocation, "
+                + "pass already transformed models to avoid this");
+        Repository repository = new RepositoryTransformer().transform(model);
+        System system = new SystemTransformer().transform(model, repository);
         ResourceEnvironment resourceEnvironment = new ResourceEnvironmentTransformer().transform(model);
         return this.transform(model, system, resourceEnvironment);
     }
@@ -1,15 +1,19 @@
 package org.palladiosimulator.somox.analyzer.rules.mocore.transformation;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 import org.apache.log4j.Logger;
-import org.eclipse.emf.common.util.EList;
 import org.palladiosimulator.generator.fluent.repository.api.Repo;
 import org.palladiosimulator.generator.fluent.repository.factory.FluentRepositoryFactory;
 import org.palladiosimulator.generator.fluent.repository.structure.components.BasicComponentCreator;
@@ -28,6 +32,7 @@ import org.palladiosimulator.pcm.repository.OperationRequiredRole;
 import org.palladiosimulator.pcm.repository.OperationSignature;
 import org.palladiosimulator.pcm.repository.Repository;
 import org.palladiosimulator.pcm.repository.RepositoryComponent;
+import org.palladiosimulator.pcm.repository.RequiredRole;
 import org.palladiosimulator.pcm.seff.AbstractAction;
 import org.palladiosimulator.pcm.seff.ExternalCallAction;
 import org.palladiosimulator.pcm.seff.ResourceDemandingSEFF;
@@ -47,7 +52,9 @@ import org.palladiosimulator.somox.analyzer.rules.mocore.surrogate.relation.Inte
 import org.palladiosimulator.somox.analyzer.rules.mocore.surrogate.relation.ServiceEffectSpecificationRelation;
 import org.palladiosimulator.somox.analyzer.rules.mocore.surrogate.relation.SignatureProvisionRelation;
 
+import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.HashMultimap;
+import com.google.common.collect.LinkedHashMultimap;
 import com.google.common.collect.Multimap;
 
 import tools.mdsd.mocore.framework.transformation.Transformer;
@@ -64,12 +71,33 @@ public class RepositoryTransformer implements Transformer<PcmSurrogate, Reposito
         FluentRepositoryFactory repositoryFactory = new FluentRepositoryFactory();
         Repo fluentRepository = repositoryFactory.newRepository();
 
-        List<ServiceEffectSpecificationRelation> seffRelations = model
-                .getByType(ServiceEffectSpecificationRelation.class);
+        // Group all relations by their endpoints once, so that no step has to scan every relation of a type
+        Multimap<Component<?>, ServiceEffectSpecificationRelation> seffRelationsByComponent = ArrayListMultimap
+                .create();
+        for (ServiceEffectSpecificationRelation relation : model.getByType(ServiceEffectSpecificationRelation.class)) {
+            seffRelationsByComponent.put(relation.getSource()
+                    .getSource()
+                    .getSource(), relation);
+        }
+        Multimap<Component<?>, InterfaceProvisionRelation> provisionRelationsBySource = ArrayListMultimap.create();
         List<InterfaceProvisionRelation> provisionRelations = model.getByType(InterfaceProvisionRelation.class);
-        List<InterfaceRequirementRelation> requirementRelations = model.getByType(InterfaceRequirementRelation.class);
-        List<SignatureProvisionRelation> signatureRelations = model.getByType(SignatureProvisionRelation.class);
+        for (InterfaceProvisionRelation relation : provisionRelations) {
+            provisionRelationsBySource.put(relation.getSource(), relation);
+        }
+        Multimap<Component<?>, InterfaceRequirementRelation> requirementRelationsBySource = ArrayListMultimap
+                .create();
+        Set<Interface> requiredInterfaces = new HashSet<>();
+        for (InterfaceRequirementRelation relation : model.getByType(InterfaceRequirementRelation.class)) {
+            requirementRelationsBySource.put(relation.getSource(), relation);
+            requiredInterfaces.add(relation.getDestination());
+        }
+        Multimap<Interface, Signature> signaturesByInterface = ArrayListMultimap.create();
+        for (SignatureProvisionRelation relation : model.getByType(SignatureProvisionRelation.class)) {
+            signaturesByInterface.put(relation.getDestination(), relation.getSource());
+        }
         List<Interface> interfaces = model.getByType(Interface.class);
+        // Built interfaces are fetched once by name and afterwards only looked up by identity
+        Map<Interface, OperationInterface> repositoryInterfaces = new HashMap<>();
 
         // Add interfaces to fluent repository
         for (Interface interfaceInstance : interfaces) {
@@ -80,16 +108,13 @@ public class RepositoryTransformer implements Transformer<PcmSurrogate, Reposito
             OperationInterface repositoryInterface = repositoryFactory
                     .fetchOfOperationInterface(interfaceInstance.getValue()
                             .getEntityName());
+            repositoryInterfaces.put(interfaceInstance, repositoryInterface);
 
             // Add signatures to the added interface directly
             // Avoids the creation of signature creator and tight coupling to fluentApi
-            for (SignatureProvisionRelation relation : signatureRelations) {
-                if (relation.getDestination()
-                        .equals(interfaceInstance)) {
-                    Signature signature = relation.getSource();
-                    signature.getValue()
-                            .setInterface__OperationSignature(repositoryInterface);
-                }
+            for (Signature signature : signaturesByInterface.get(interfaceInstance)) {
+                signature.getValue()
+                        .setInterface__OperationSignature(repositoryInterface);
             }
         }
 
@@ -98,108 +123,93 @@ public class RepositoryTransformer implements Transformer<PcmSurrogate, Reposito
             BasicComponentCreator componentCreator = getCreator(repositoryFactory, component);
 
             // Add provided interfaces
-            for (InterfaceProvisionRelation relation : provisionRelations) {
+            for (InterfaceProvisionRelation relation : provisionRelationsBySource.get(component)) {
                 Interface interfaceInstance = relation.getDestination();
-                if (relation.getSource()
-                        .equals(component)) {
-                    String interfaceName = interfaceInstance.getValue()
-                            .getEntityName();
-                    OperationInterface operationInterface = repositoryFactory.fetchOfOperationInterface(interfaceName);
-                    componentCreator.provides(operationInterface, getProvidedRoleName(interfaceInstance));
-                }
+                OperationInterface operationInterface = getRepositoryInterface(repositoryFactory,
+                        repositoryInterfaces, interfaceInstance);
+                componentCreator.provides(operationInterface, getProvidedRoleName(interfaceInstance));
             }
 
             // Add required interfaces
-            for (InterfaceRequirementRelation relation : requirementRelations) {
+            for (InterfaceRequirementRelation relation : requirementRelationsBySource.get(component)) {
                 Interface interfaceInstance = relation.getDestination();
-                if (relation.getSource()
-                        .equals(component)) {
-                    String interfaceName = interfaceInstance.getValue()
-                            .getEntityName();
-                    OperationInterface operationInterface = repositoryFactory.fetchOfOperationInterface(interfaceName);
-                    componentCreator.requires(operationInterface, getRequiredRoleName(interfaceInstance));
-                }
+                OperationInterface operationInterface = getRepositoryInterface(repositoryFactory,
+                        repositoryInterfaces, interfaceInstance);
+                componentCreator.requires(operationInterface, getRequiredRoleName(interfaceInstance));
             }
 
             // Build component to make changes that are unsupported by fluent api
             BasicComponent repositoryComponent = componentCreator.build();
 
+            // Map each required signature to the first required role containing it
+            Map<OperationSignature, OperationRequiredRole> requiredRoles = new HashMap<>();
+            for (RequiredRole role : repositoryComponent.getRequiredRoles_InterfaceRequiringEntity()) {
+                if (role instanceof OperationRequiredRole) {
+                    OperationRequiredRole operationRole = (OperationRequiredRole) role;
+                    for (OperationSignature signature : operationRole.getRequiredInterface__OperationRequiredRole()
+                            .getSignatures__OperationInterface()) {
+                        requiredRoles.putIfAbsent(signature, operationRole);
+                    }
+                }
+            }
+
             // Add service effect specifications to component
             // For each provided interface, iterate over each signature of interface and add seff if
             // it exists
-            for (InterfaceProvisionRelation interfaceProvision : provisionRelations) {
-                if (interfaceProvision.getSource()
-                        .equals(component)) {
-                    OperationInterface operationInterface = repositoryFactory
-                            .fetchOfOperationInterface(interfaceProvision.getDestination()
-                                    .getValue()
-                                    .getEntityName());
-                    for (OperationSignature signature : operationInterface.getSignatures__OperationInterface()) {
-                        // Get seff entity for specific signature in interface
-                        Predicate<ServiceEffectSpecificationRelation> filter = relation -> {
-                            final Signature wrappedSignature = relation.getSource()
-                                    .getDestination()
-                                    .getSource();
-                            final Interface wrappedInterface = relation.getSource()
-                                    .getSource()
-                                    .getDestination();
-                            return representSameSignature(signature, wrappedSignature.getValue())
-                                    && representSameInterface(operationInterface, wrappedInterface.getValue());
-                        };
-                        ServiceEffectSpecification seff = seffRelations.stream()
-                                .filter(relation -> relation.getSource()
-                                        .getSource()
-                                        .getSource()
-                                        .equals(component))
-                                .filter(filter)
-                                .map(relation -> relation.getDestination()
-                                        .getValue())
-                                .findFirst()
-                                .orElse(org.palladiosimulator.somox.analyzer.rules.mocore.surrogate.element.ServiceEffectSpecification
-                                        .getUniquePlaceholder()
-                                        .getValue());
-
-                        // Reset component and signature within seff because they may be out-dated
-                        seff.setBasicComponent_ServiceEffectSpecification(repositoryComponent);
-                        seff.setDescribedService__SEFF(signature);
-
-                        // Fix changed identifier of required roles in external call actions
-                        if (seff instanceof ResourceDemandingSEFF) {
-                            ResourceDemandingSEFF rdSeff = (ResourceDemandingSEFF) seff;
-                            EList<AbstractAction> behavior = rdSeff.getSteps_Behaviour();
-                            List<ExternalCallAction> externalCallActions = behavior.stream()
-                                    .filter(action -> action instanceof ExternalCallAction)
-                                    .map(action -> (ExternalCallAction) action)
-                                    .collect(Collectors.toList());
-
-                            for (ExternalCallAction externalCallAction : externalCallActions) {
-                                OperationSignature externalSignature = externalCallAction
-                                        .getCalledService_ExternalService();
-
-                                // Get required role containing called signature of
-                                // externalCallAction from component
-                                Optional<OperationRequiredRole> requiredRoleOption = repositoryComponent
-                                        .getRequiredRoles_InterfaceRequiringEntity()
-                                        .stream()
-                                        .filter(role -> role instanceof OperationRequiredRole)
-                                        .map(role -> (OperationRequiredRole) role)
-                                        .filter(role -> role.getRequiredInterface__OperationRequiredRole()
-                                                .getSignatures__OperationInterface()
-                                                .contains(externalSignature))
-                                        .findFirst();
-                                if (requiredRoleOption.isEmpty()) {
-                                    LOG.warn(
-                                            "Failed to find required role for external call to "
-                                                    + externalSignature.getInterface__OperationSignature()
-                                                            .getEntityName()
-                                                    + "#" + externalSignature.getEntityName() + "!");
-                                    continue;
-                                }
-                                OperationRequiredRole requiredRole = requiredRoleOption.get();
-
-                                // Set role in external call action to fetched required role
-                                externalCallAction.setRole_ExternalService(requiredRole);
+            Collection<ServiceEffectSpecificationRelation> componentSeffRelations = seffRelationsByComponent
+                    .get(component);
+            for (InterfaceProvisionRelation interfaceProvision : provisionRelationsBySource.get(component)) {
+                OperationInterface operationInterface = getRepositoryInterface(repositoryFactory,
+                        repositoryInterfaces, interfaceProvision.getDestination());
+                for (OperationSignature signature : operationInterface.getSignatures__OperationInterface()) {
+                    // Get seff entity for specific signature in interface
+                    Predicate<ServiceEffectSpecificationRelation> filter = relation -> {
+                        final Signature wrappedSignature = relation.getSource()
+                                .getDestination()
+                                .getSource();
+                        final Interface wrappedInterface = relation.getSource()
+                                .getSource()
+                                .getDestination();
+                        return representSameSignature(signature, wrappedSignature.getValue())
+                                && representSameInterface(operationInterface, wrappedInterface.getValue());
+                    };
+                    ServiceEffectSpecification seff = componentSeffRelations.stream()
+                            .filter(filter)
+                            .map(relation -> relation.getDestination()
+                                    .getValue())
+                            .findFirst()
+                            .orElse(org.palladiosimulator.somox.analyzer.rules.mocore.surrogate.element.ServiceEffectSpecification
+                                    .getUniquePlaceholder()
+                                    .getValue());
+
+                    // Reset component and signature within seff because they may be out-dated
+                    seff.setBasicComponent_ServiceEffectSpecification(repositoryComponent);
+                    seff.setDescribedService__SEFF(signature);
+
+                    // Fix changed identifier of required roles in external call actions
+                    if (seff instanceof ResourceDemandingSEFF) {
+                        ResourceDemandingSEFF rdSeff = (ResourceDemandingSEFF) seff;
+                        for (AbstractAction action : rdSeff.getSteps_Behaviour()) {
+                            if (!(action instanceof ExternalCallAction)) {
+                                continue;
+                            }
+                            ExternalCallAction externalCallAction = (ExternalCallAction) action;
+                            OperationSignature externalSignature = externalCallAction
+                                    .getCalledService_ExternalService();
+
+                            // Get required role containing called signature of
+                            // externalCallAction from component
+                            OperationRequiredRole requiredRole = requiredRoles.get(externalSignature);
+                            if (requiredRole == null) {
+                                LOG.warn("Failed to find required role for external call to "
+                                        + externalSignature.getInterface__OperationSignature()
+                                                .getEntityName()
+                                        + "#" + externalSignature.getEntityName() + "!");
+                                continue;
                             }
+
+                            // Set role in external call action to fetched required role
+                            externalCallAction.setRole_ExternalService(requiredRole);
                         }
                     }
                 }
@@ -211,45 +221,42 @@ public class RepositoryTransformer implements Transformer<PcmSurrogate, Reposito
 
         // Add implicitly provided interfaces of composites to model (non-required interface of child).
         // Problem: This has to happen from innermost to outermost component. -> Sorted by dependency.
-        // First step: Get children of each composite
+        // First step: Get children of each composite and parents of each component
         List<CompositionRelation> compositionRelations = model.getByType(CompositionRelation.class);
         List<Composite> composites = model.getByType(Composite.class);
-        Multimap<Composite, Component<?>> compositesChildren = HashMultimap.create();
-        for (Composite composite : composites) {
-            List<Component<?>> children = compositionRelations.stream()
-                    .filter(relation -> relation.getSource().equals(composite))
-                    .map(relation -> relation.getDestination())
-                    .collect(Collectors.toList());
-            compositesChildren.putAll(composite, children);
+        Multimap<Composite, Component<?>> compositesChildren = LinkedHashMultimap.create();
+        Multimap<Component<?>, Composite> componentsParents = LinkedHashMultimap.create();
+        for (CompositionRelation relation : compositionRelations) {
+            compositesChildren.put(relation.getSource(), relation.getDestination());
+            componentsParents.put(relation.getDestination(), relation.getSource());
         }
         // Second step: Sort composites
         List<Composite> sortedComposites = new LinkedList<>(composites);
         sortedComposites.sort((a, b) -> compareComposites(a, b, compositesChildren));
         // Third step: Get non-required interfaces & their providers
-        List<InterfaceProvisionRelation> nonRequiredProvisionRelations = new LinkedList<>(provisionRelations);
-        nonRequiredProvisionRelations.removeIf(
-                provisionRelation -> requirementRelations.stream().anyMatch(requirementRelation -> requirementRelation
-                        .getDestination().equals(provisionRelation.getDestination())));
+        Multimap<Component<?>, InterfaceProvisionRelation> nonRequiredProvisionRelations = ArrayListMultimap.create();
+        for (InterfaceProvisionRelation provisionRelation : provisionRelations) {
+            if (!requiredInterfaces.contains(provisionRelation.getDestination())) {
+                nonRequiredProvisionRelations.put(provisionRelation.getSource(), provisionRelation);
+            }
+        }
+        // Existing delegations by the composite they delegate from
+        Multimap<Component<?>, InterfaceProvisionRelation> delegatedProvisions = HashMultimap.create();
+        for (CompositeProvisionDelegationRelation delegationRelation : model
+                .getByType(CompositeProvisionDelegationRelation.class)) {
+            delegatedProvisions.put(delegationRelation.getSource()
+                    .getSource(), delegationRelation.getDestination());
+        }
         // Fourth step: Provide non-required interface of children & add delegation
         for (Composite composite : sortedComposites) {
-            for (int i = 0; i < nonRequiredProvisionRelations.size(); i++) {
-                // Access via index due to concurrent modification -> New last element might be added to list
-                InterfaceProvisionRelation nonRequiredProvision = nonRequiredProvisionRelations.get(i);
-                Component<?> provider = nonRequiredProvision.getSource();
-                Interface providedInterface = nonRequiredProvision.getDestination();
-
-                // Only add if provider is direct child of composite
-                if (isDirectChild(provider, composite, compositesChildren)) {
+            for (Component<?> provider : compositesChildren.get(composite)) {
+                // Copied, because provisions of the composite itself are added while iterating
+                for (InterfaceProvisionRelation nonRequiredProvision : new ArrayList<>(
+                        nonRequiredProvisionRelations.get(provider))) {
+                    Interface providedInterface = nonRequiredProvision.getDestination();
+
                     // Check whether delegation already exists in model
-                    boolean existsDelegation = false;
-                    for (CompositeProvisionDelegationRelation delegationRelation : model
-                            .getByType(CompositeProvisionDelegationRelation.class)) {
-                        if (delegationRelation.getDestination().equals(nonRequiredProvision)
-                                && delegationRelation.getSource().getSource().equals(composite)) {
-                            existsDelegation = true;
-                            break;
-                        }
-                    }
+                    boolean existsDelegation = delegatedProvisions.containsEntry(composite, nonRequiredProvision);
 
                     // Check whether interface should be excluded from recursive delegation
                     boolean excludeDelegation = isExcludedFromDelegation(provider, providedInterface);
@@ -257,27 +264,27 @@ public class RepositoryTransformer implements Transformer<PcmSurrogate, Reposito
                     if (!existsDelegation && !excludeDelegation) {
                         // Check whether interface provision already exists
                         InterfaceProvisionRelation provisionRelation = null;
-                        for (InterfaceProvisionRelation provision : provisionRelations) {
-                            if (provision.getSource().equals(composite)
-                                    && provision.getDestination().equals(providedInterface)) {
+                        for (InterfaceProvisionRelation provision : provisionRelationsBySource.get(composite)) {
+                            if (provision.getDestination()
+                                    .equals(providedInterface)) {
                                 provisionRelation = provision;
                             }
                         }
                         // Create new provision if it does not exist yet
                         if (Objects.isNull(provisionRelation)) {
-                            provisionRelation = new InterfaceProvisionRelation(composite,
-                                    providedInterface, true);
+                            provisionRelation = new InterfaceProvisionRelation(composite, providedInterface, true);
 
-                            // Add to model and refresh already fetched relations
+                            // Add to model and to the already grouped relations
                             model.add(provisionRelation);
-                            nonRequiredProvisionRelations.add(provisionRelation);
-                            provisionRelations = model.getByType(InterfaceProvisionRelation.class);
+                            nonRequiredProvisionRelations.put(composite, provisionRelation);
+                            provisionRelationsBySource.put(composite, provisionRelation);
                         }
 
                         // Add provided delegation connector
                         CompositeProvisionDelegationRelation provisionDelegation = new CompositeProvisionDelegationRelation(
                                 provisionRelation, nonRequiredProvision, true);
                         model.add(provisionDelegation);
+                        delegatedProvisions.put(composite, nonRequiredProvision);
                     }
                 }
             }
@@ -288,27 +295,19 @@ public class RepositoryTransformer implements Transformer<PcmSurrogate, Reposito
             CompositeComponentCreator compositeCreator = getCreator(repositoryFactory, composite);
 
             // Add explicitly provided interfaces
-            for (InterfaceProvisionRelation relation : provisionRelations) {
+            for (InterfaceProvisionRelation relation : provisionRelationsBySource.get(composite)) {
                 Interface interfaceInstance = relation.getDestination();
-                if (relation.getSource()
-                        .equals(composite)) {
-                    String interfaceName = interfaceInstance.getValue()
-                            .getEntityName();
-                    OperationInterface operationInterface = repositoryFactory.fetchOfOperationInterface(interfaceName);
-                    compositeCreator.provides(operationInterface, getProvidedRoleName(interfaceInstance));
-                }
+                OperationInterface operationInterface = getRepositoryInterface(repositoryFactory,
+                        repositoryInterfaces, interfaceInstance);
+                compositeCreator.provides(operationInterface, getProvidedRoleName(interfaceInstance));
             }
 
             // Add required interfaces
-            for (InterfaceRequirementRelation relation : requirementRelations) {
+            for (InterfaceRequirementRelation relation : requirementRelationsBySource.get(composite)) {
                 Interface interfaceInstance = relation.getDestination();
-                if (relation.getSource()
-                        .equals(composite)) {
-                    String interfaceName = interfaceInstance.getValue()
-                            .getEntityName();
-                    OperationInterface operationInterface = repositoryFactory.fetchOfOperationInterface(interfaceName);
-                    compositeCreator.requires(operationInterface, getRequiredRoleName(interfaceInstance));
-                }
+                OperationInterface operationInterface = getRepositoryInterface(repositoryFactory,
+                        repositoryInterfaces, interfaceInstance);
+                compositeCreator.requires(operationInterface, getRequiredRoleName(interfaceInstance));
             }
 
             // Add composite to fluent repository
@@ -316,24 +315,27 @@ public class RepositoryTransformer implements Transformer<PcmSurrogate, Reposito
         }
 
         // Add compositions to repository -> All composites & composites have to be added beforehand
+        // Components are fetched once per wrapper instead of once per composition
+        Map<Component<?>, RepositoryComponent> fetchedComponents = new HashMap<>();
         for (CompositionRelation relation : compositionRelations) {
             Composite composite = relation.getSource();
             Component<?> destination = relation.getDestination();
 
             // Fetch composite from repository
-            CompositeComponent persistedCompositeComponent = repositoryFactory
-                    .fetchOfCompositeComponent(composite.getValue()
-                            .getEntityName());
-            persistedCompositeComponent.getAssemblyContexts__ComposedStructure();
+            CompositeComponent persistedCompositeComponent = (CompositeComponent) fetchedComponents.computeIfAbsent(
+                    composite, key -> repositoryFactory.fetchOfCompositeComponent(key.getValue()
+                            .getEntityName()));
 
             // Fetch composite child from repository & create temporary fluent creator
             CompositeComponentCreator temporaryCreator = repositoryFactory.newCompositeComponent();
             if (destination instanceof AtomicComponent) {
-                temporaryCreator.withAssemblyContext(repositoryFactory.fetchOfBasicComponent(destination.getValue()
-                        .getEntityName()));
+                temporaryCreator.withAssemblyContext((BasicComponent) fetchedComponents.computeIfAbsent(destination,
+                        key -> repositoryFactory.fetchOfBasicComponent(key.getValue()
+                                .getEntityName())));
             } else if (destination instanceof Composite) {
-                temporaryCreator.withAssemblyContext(repositoryFactory.fetchOfCompositeComponent(destination.getValue()
-                        .getEntityName()));
+                temporaryCreator.withAssemblyContext((CompositeComponent) fetchedComponents.computeIfAbsent(
+                        destination, key -> repositoryFactory.fetchOfCompositeComponent(key.getValue()
+                                .getEntityName())));
             }
 
             // Copy assembly contexts from temporary to persisted composite
@@ -344,6 +346,22 @@ public class RepositoryTransformer implements Transformer<PcmSurrogate, Reposito
 
         Repository repository = fluentRepository.createRepositoryNow();
 
+        // Index the built composites by name and their assembly contexts by the name of the encapsulated component
+        Multimap<String, CompositeComponent> repositoryComposites = ArrayListMultimap.create();
+        Map<CompositeComponent, Map<String, AssemblyContext>> assemblyContexts = new HashMap<>();
+        for (RepositoryComponent repositoryComponent : repository.getComponents__Repository()) {
+            if (repositoryComponent instanceof CompositeComponent) {
+                CompositeComponent repositoryComposite = (CompositeComponent) repositoryComponent;
+                repositoryComposites.put(repositoryComposite.getEntityName(), repositoryComposite);
+                Map<String, AssemblyContext> contexts = new HashMap<>();
+                for (AssemblyContext context : repositoryComposite.getAssemblyContexts__ComposedStructure()) {
+                    contexts.putIfAbsent(context.getEncapsulatedComponent__AssemblyContext()
+                            .getEntityName(), context);
+                }
+                assemblyContexts.put(repositoryComposite, contexts);
+            }
+        }
+
         // Add assembly connectors for assembly relations of components within same composite
         for (ComponentAssemblyRelation assemblyRelation : model.getByType(ComponentAssemblyRelation.class)) {
             Component<?> provider = assemblyRelation.getSource().getSource();
@@ -351,62 +369,36 @@ public class RepositoryTransformer implements Transformer<PcmSurrogate, Reposito
             Interface interFace = assemblyRelation.getSource().getDestination();
 
             // Get common composites of provider and consumer
-            List<Composite> providerComposites = compositionRelations.stream()
-                    .filter(relation -> relation.getDestination().equals(provider)).map(CompositionRelation::getSource)
-                    .collect(Collectors.toList());
-            List<Composite> consumerComposites = compositionRelations.stream()
-                    .filter(relation -> relation.getDestination().equals(consumer)).map(CompositionRelation::getSource)
-                    .collect(Collectors.toList());
-            List<Composite> commonComposites = providerComposites.stream()
-                    .filter(composite -> consumerComposites.contains(composite)).collect(Collectors.toList());
-
-            // Get real composites of wrappers from repository
-            List<CompositeComponent> commonRepositoryComposites = new ArrayList<>();
-            for (RepositoryComponent repositoryComponent : repository.getComponents__Repository()) {
-                for (Composite commonComposite : commonComposites) {
-                    if (repositoryComponent.getEntityName().equals(commonComposite.getValue().getEntityName())) {
-                        commonRepositoryComposites.add((CompositeComponent) repositoryComponent);
-                    }
-                }
-            }
+            Collection<Composite> consumerComposites = componentsParents.get(consumer);
+            List<Composite> commonComposites = componentsParents.get(provider).stream()
+                    .filter(consumerComposites::contains).collect(Collectors.toList());
 
             // Add assembly connector to each common composite
-            for (CompositeComponent repositoryComposite : commonRepositoryComposites) {
-                // Fetch assembly contexts from composite
-                AssemblyContext providerContext = repositoryComposite.getAssemblyContexts__ComposedStructure().stream()
-                        .filter(context -> context.getEncapsulatedComponent__AssemblyContext().getEntityName()
-                                .equals(provider.getValue().getEntityName()))
-                        .findFirst().orElseThrow();
-                AssemblyContext consumerContext = repositoryComposite.getAssemblyContexts__ComposedStructure().stream()
-                        .filter(context -> context.getEncapsulatedComponent__AssemblyContext().getEntityName()
-                                .equals(consumer.getValue().getEntityName()))
-                        .findFirst().orElseThrow();
-
-                // Fetch roles from contexts
-                OperationProvidedRole providerRole = (OperationProvidedRole) providerContext
-                        .getEncapsulatedComponent__AssemblyContext()
-                        .getProvidedRoles_InterfaceProvidingEntity().stream()
-                        .filter(role -> role instanceof OperationProvidedRole
-                                && ((OperationProvidedRole) role).getProvidedInterface__OperationProvidedRole()
-                                        .getEntityName().equals(interFace.getValue().getEntityName()))
-                        .findFirst().orElseThrow();
-                OperationRequiredRole consumerRole = (OperationRequiredRole) consumerContext
-                        .getEncapsulatedComponent__AssemblyContext()
-                        .getRequiredRoles_InterfaceRequiringEntity().stream()
-                        .filter(role -> role instanceof OperationRequiredRole
-                                && ((OperationRequiredRole) role).getRequiredInterface__OperationRequiredRole()
-                                        .getEntityName().equals(interFace.getValue().getEntityName()))
-                        .findFirst().orElseThrow();
-
-                // Construct assembly connector
-                AssemblyConnector assemblyConnector = CompositionFactory.eINSTANCE.createAssemblyConnector();
-                assemblyConnector.setProvidedRole_AssemblyConnector(providerRole);
-                assemblyConnector.setProvidingAssemblyContext_AssemblyConnector(providerContext);
-                assemblyConnector.setRequiredRole_AssemblyConnector(consumerRole);
-                assemblyConnector.setRequiringAssemblyContext_AssemblyConnector(consumerContext);
-
-                // Add connector to composite
-                repositoryComposite.getConnectors__ComposedStructure().add(assemblyConnector);
+            for (Composite commonComposite : commonComposites) {
+                for (CompositeComponent repositoryComposite : repositoryComposites
+                        .get(commonComposite.getValue().getEntityName())) {
+                    // Fetch assembly contexts from composite
+                    AssemblyContext providerContext = getAssemblyContext(assemblyContexts, repositoryComposite,
+                            provider);
+                    AssemblyContext consumerContext = getAssemblyContext(assemblyContexts, repositoryComposite,
+                            consumer);
+
+                    // Fetch roles from contexts
+                    OperationProvidedRole providerRole = getProvidedRole(
+                            providerContext.getEncapsulatedComponent__AssemblyContext(), interFace);
+                    OperationRequiredRole consumerRole = getRequiredRole(
+                            consumerContext.getEncapsulatedComponent__AssemblyContext(), interFace);
+
+                    // Construct assembly connector
+                    AssemblyConnector assemblyConnector = CompositionFactory.eINSTANCE.createAssemblyConnector();
+                    assemblyConnector.setProvidedRole_AssemblyConnector(providerRole);
+                    assemblyConnector.setProvidingAssemblyContext_AssemblyConnector(providerContext);
+                    assemblyConnector.setRequiredRole_AssemblyConnector(consumerRole);
+                    assemblyConnector.setRequiringAssemblyContext_AssemblyConnector(consumerContext);
+
+                    // Add connector to composite
+                    repositoryComposite.getConnectors__ComposedStructure().add(assemblyConnector);
+                }
             }
         }
 
@@ -420,28 +412,11 @@ public class RepositoryTransformer implements Transformer<PcmSurrogate, Reposito
             Interface innerInterfaceWrapper = delegationRelation.getDestination().getDestination();
 
             // Fetch composite, assembly context, & roles from repository
-            CompositeComponent repositoryComposite = (CompositeComponent) repository.getComponents__Repository()
-                    .stream()
-                    .filter(CompositeComponent.class::isInstance)
-                    .filter(component -> component.getEntityName().equals(compositeWrapper.getValue().getEntityName()))
-                    .findFirst().orElseThrow();
-            AssemblyContext childContext = repositoryComposite.getAssemblyContexts__ComposedStructure().stream()
-                    .filter(context -> context.getEncapsulatedComponent__AssemblyContext().getEntityName()
-                            .equals(childWrapper.getValue().getEntityName()))
-                    .findFirst().orElseThrow();
-            OperationProvidedRole innerRole = (OperationProvidedRole) childContext
-                    .getEncapsulatedComponent__AssemblyContext()
-                    .getProvidedRoles_InterfaceProvidingEntity().stream()
-                    .filter(role -> role instanceof OperationProvidedRole
-                            && ((OperationProvidedRole) role).getProvidedInterface__OperationProvidedRole()
-                                    .getEntityName().equals(innerInterfaceWrapper.getValue().getEntityName()))
-                    .findFirst().orElseThrow();
-            OperationProvidedRole outerRole = (OperationProvidedRole) repositoryComposite
-                    .getProvidedRoles_InterfaceProvidingEntity().stream()
-                    .filter(role -> role instanceof OperationProvidedRole
-                            && ((OperationProvidedRole) role).getProvidedInterface__OperationProvidedRole()
-                                    .getEntityName().equals(outerInterfaceWrapper.getValue().getEntityName()))
-                    .findFirst().orElseThrow();
+            CompositeComponent repositoryComposite = getRepositoryComposite(repositoryComposites, compositeWrapper);
+            AssemblyContext childContext = getAssemblyContext(assemblyContexts, repositoryComposite, childWrapper);
+            OperationProvidedRole innerRole = getProvidedRole(childContext.getEncapsulatedComponent__AssemblyContext(),
+                    innerInterfaceWrapper);
+            OperationProvidedRole outerRole = getProvidedRole(repositoryComposite, outerInterfaceWrapper);
 
             // Create delegation connector
             ProvidedDelegationConnector delegationConnector = CompositionFactory.eINSTANCE
@@ -464,27 +439,11 @@ public class RepositoryTransformer implements Transformer<PcmSurrogate, Reposito
             Interface innerInterfaceWrapper = delegationRelation.getDestination().getDestination();
 
             // Fetch composite, assembly context, & roles from repository
-            CompositeComponent repositoryComposite = (CompositeComponent) repository.getComponents__Repository()
-                    .stream()
-                    .filter(component -> component.getEntityName().equals(compositeWrapper.getValue().getEntityName()))
-                    .findFirst().orElseThrow();
-            AssemblyContext childContext = repositoryComposite.getAssemblyContexts__ComposedStructure().stream()
-                    .filter(context -> context.getEncapsulatedComponent__AssemblyContext().getEntityName()
-                            .equals(childWrapper.getValue().getEntityName()))
-                    .findFirst().orElseThrow();
-            OperationRequiredRole innerRole = (OperationRequiredRole) childContext
-                    .getEncapsulatedComponent__AssemblyContext()
-                    .getRequiredRoles_InterfaceRequiringEntity().stream()
-                    .filter(role -> role instanceof OperationRequiredRole
-                            && ((OperationRequiredRole) role).getRequiredInterface__OperationRequiredRole()
-                                    .getEntityName().equals(innerInterfaceWrapper.getValue().getEntityName()))
-                    .findFirst().orElseThrow();
-            OperationRequiredRole outerRole = (OperationRequiredRole) repositoryComposite
-                    .getRequiredRoles_InterfaceRequiringEntity().stream()
-                    .filter(role -> role instanceof OperationRequiredRole
-                            && ((OperationRequiredRole) role).getRequiredInterface__OperationRequiredRole()
-                                    .getEntityName().equals(outerInterfaceWrapper.getValue().getEntityName()))
-                    .findFirst().orElseThrow();
+            CompositeComponent repositoryComposite = getRepositoryComposite(repositoryComposites, compositeWrapper);
+            AssemblyContext childContext = getAssemblyContext(assemblyContexts, repositoryComposite, childWrapper);
+            OperationRequiredRole innerRole = getRequiredRole(childContext.getEncapsulatedComponent__AssemblyContext(),
+                    innerInterfaceWrapper);
+            OperationRequiredRole outerRole = getRequiredRole(repositoryComposite, outerInterfaceWrapper);
 
             // Create delegation connector
             RequiredDelegationConnector delegationConnector = CompositionFactory.eINSTANCE
@@ -501,6 +460,38 @@ public class RepositoryTransformer implements Transformer<PcmSurrogate, Reposito
 
     }
 
+    private static CompositeComponent getRepositoryComposite(Multimap<String, CompositeComponent> repositoryComposites,
+            Composite composite) {
+        return repositoryComposites.get(composite.getValue().getEntityName()).stream().findFirst().orElseThrow();
+    }
+
+    private static AssemblyContext getAssemblyContext(
+            Map<CompositeComponent, Map<String, AssemblyContext>> assemblyContexts,
+            CompositeComponent repositoryComposite, Component<?> child) {
+        return Optional.ofNullable(assemblyContexts.get(repositoryComposite)
+                .get(child.getValue().getEntityName())).orElseThrow();
+    }
+
+    private static OperationProvidedRole getProvidedRole(RepositoryComponent component, Interface interFace) {
+        String interfaceName = interFace.getValue().getEntityName();
+        return component.getProvidedRoles_InterfaceProvidingEntity().stream()
+                .filter(role -> role instanceof OperationProvidedRole
+                        && ((OperationProvidedRole) role).getProvidedInterface__OperationProvidedRole()
+                                .getEntityName().equals(interfaceName))
+                .map(OperationProvidedRole.class::cast)
+                .findFirst().orElseThrow();
+    }
+
+    private static OperationRequiredRole getRequiredRole(RepositoryComponent component, Interface interFace) {
+        String interfaceName = interFace.getValue().getEntityName();
+        return component.getRequiredRoles_InterfaceRequiringEntity().stream()
+                .filter(role -> role instanceof OperationRequiredRole
+                        && ((OperationRequiredRole) role).getRequiredInterface__OperationRequiredRole()
+                                .getEntityName().equals(interfaceName))
+                .map(OperationRequiredRole.class::cast)
+                .findFirst().orElseThrow();
+    }
+
     private boolean isDirectChild(Component<?> child, Composite parent,
             Multimap<Composite, Component<?>> compositesChildren) {
         return compositesChildren.get(parent).contains(child);
@@ -572,6 +563,14 @@ public class RepositoryTransformer implements Transformer<PcmSurrogate, Reposito
         return interfaceCreator;
     }
 
+    private OperationInterface getRepositoryInterface(FluentRepositoryFactory fluentFactory,
+            Map<Interface, OperationInterface> repositoryInterfaces, Interface interfaceInstance) {
+        // Fall back to the name-based lookup for interfaces that were not part of the model
+        return repositoryInterfaces.computeIfAbsent(interfaceInstance,
+                key -> fluentFactory.fetchOfOperationInterface(key.getValue()
+                        .getEntityName()));
+    }
+
     protected static String getProvidedRoleName(Interface interfaceInstance) {
         String interfaceEntityName = interfaceInstance.getValue()
                 .getEntityName();
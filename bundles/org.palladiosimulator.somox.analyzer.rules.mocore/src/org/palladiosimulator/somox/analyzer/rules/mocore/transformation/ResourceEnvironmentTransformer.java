@@ -1,8 +1,6 @@
 package org.palladiosimulator.somox.analyzer.rules.mocore.transformation;
 
 import java.util.Collection;
-import java.util.Objects;
-import java.util.Set;
 
 import org.palladiosimulator.generator.fluent.resourceenvironment.api.IResourceEnvironment;
 import org.palladiosimulator.generator.fluent.resourceenvironment.factory.FluentResourceEnvironmentFactory;
@@ -16,24 +14,36 @@ import org.palladiosimulator.somox.analyzer.rules.mocore.surrogate.element.Deplo
 import org.palladiosimulator.somox.analyzer.rules.mocore.surrogate.element.LinkResourceSpecification;
 import org.palladiosimulator.somox.analyzer.rules.mocore.surrogate.relation.LinkResourceSpecificationRelation;
 
+import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.HashMultimap;
+import com.google.common.collect.Multimap;
+
 import tools.mdsd.mocore.framework.transformation.Transformer;
 
 public class ResourceEnvironmentTransformer implements Transformer<PcmSurrogate, ResourceEnvironment> {
     @Override
     public ResourceEnvironment transform(PcmSurrogate model) {
+        return this.transform(model.getByType(Deployment.class),
+                model.getByType(LinkResourceSpecificationRelation.class));
+    }
+
+    /**
+     * Transforms the given deployments and linking relations without accessing the surrogate, so that the
+     * transformation may run while the surrogate is modified by another transformer.
+     */
+    public ResourceEnvironment transform(Collection<Deployment> deployments,
+            Collection<LinkResourceSpecificationRelation> linkingRelations) {
         FluentResourceEnvironmentFactory resourceEnvironmentFactory = new FluentResourceEnvironmentFactory();
         IResourceEnvironment fluentResourceEnvironment = resourceEnvironmentFactory.newResourceEnvironment();
 
         // Add resource containers to resource environment
-        for (Deployment deployment : model.getByType(Deployment.class)) {
+        for (Deployment deployment : deployments) {
             ResourceContainerCreator containerCreator = getContainerCreator(resourceEnvironmentFactory, deployment);
             fluentResourceEnvironment.addToResourceEnvironment(containerCreator);
         }
 
         HashMultimap<LinkResourceSpecification, Deployment> linkSpecificationMap = HashMultimap.create();
-        for (LinkResourceSpecificationRelation linkingRelation : model
-                .getByType(LinkResourceSpecificationRelation.class)) {
+        for (LinkResourceSpecificationRelation linkingRelation : linkingRelations) {
             Deployment source = linkingRelation.getDestination().getSource();
             Deployment destination = linkingRelation.getDestination().getDestination();
             LinkResourceSpecification specification = linkingRelation.getSource();
@@ -56,26 +66,29 @@ public class ResourceEnvironmentTransformer implements Transformer<PcmSurrogate,
         ResourceEnvironment resourceEnvironment = fluentResourceEnvironment.createResourceEnvironmentNow();
 
         // Copy resource specifications from old to new containers
+        // TODO Use container wrapper.equals
+        Multimap<String, ResourceContainer> wrappedContainers = ArrayListMultimap.create();
+        for (Deployment deployment : deployments) {
+            ResourceContainer wrappedContainer = deployment.getValue();
+            wrappedContainers.put(wrappedContainer.getEntityName(), wrappedContainer);
+        }
         for (ResourceContainer container : resourceEnvironment.getResourceContainer_ResourceEnvironment()) {
-            for (Deployment deployment : model.getByType(Deployment.class)) {
-                // TODO Use container wrapper.equals
-                ResourceContainer wrappedContainer = deployment.getValue();
-                if (container.getEntityName().equals(wrappedContainer.getEntityName())) {
-                    container.getActiveResourceSpecifications_ResourceContainer()
-                            .addAll(wrappedContainer.getActiveResourceSpecifications_ResourceContainer());
-                    container.getHddResourceSpecifications().addAll(wrappedContainer.getHddResourceSpecifications());
-                }
+            for (ResourceContainer wrappedContainer : wrappedContainers.get(container.getEntityName())) {
+                container.getActiveResourceSpecifications_ResourceContainer()
+                        .addAll(wrappedContainer.getActiveResourceSpecifications_ResourceContainer());
+                container.getHddResourceSpecifications().addAll(wrappedContainer.getHddResourceSpecifications());
             }
         }
 
         // Add linking resource specifications to PCM linking resources
+        Multimap<String, LinkingResource> linkingResources = ArrayListMultimap.create();
+        for (LinkingResource linkingResource : resourceEnvironment.getLinkingResources__ResourceEnvironment()) {
+            linkingResources.put(linkingResource.getEntityName(), linkingResource);
+        }
         for (LinkResourceSpecification specification : linkSpecificationMap.keySet()) {
-            Set<Deployment> deployments = linkSpecificationMap.get(specification);
-            for (LinkingResource linkingResource : resourceEnvironment.getLinkingResources__ResourceEnvironment()) {
-                if (Objects.equals(getLinkingResourceName(deployments), linkingResource.getEntityName())) {
-                    linkingResource
-                            .setCommunicationLinkResourceSpecifications_LinkingResource(specification.getValue());
-                }
+            String linkingResourceName = getLinkingResourceName(linkSpecificationMap.get(specification));
+            for (LinkingResource linkingResource : linkingResources.get(linkingResourceName)) {
+                linkingResource.setCommunicationLinkResourceSpecifications_LinkingResource(specification.getValue());
             }
         }
 
@@ -1,5 +1,9 @@
 package org.palladiosimulator.somox.analyzer.rules.mocore.transformation;
 
+import java.util.HashSet;
+import java.util.Set;
+
+import org.apache.log4j.Logger;
 import org.palladiosimulator.generator.fluent.system.api.ISystemAddition;
 import org.palladiosimulator.generator.fluent.system.factory.FluentSystemFactory;
 import org.palladiosimulator.generator.fluent.system.structure.AssemblyContextCreator;
@@ -19,13 +23,20 @@ import org.palladiosimulator.somox.analyzer.rules.mocore.surrogate.relation.Inte
 import tools.mdsd.mocore.framework.transformation.Transformer;
 
 public class SystemTransformer implements Transformer<PcmSurrogate, org.palladiosimulator.pcm.system.System> {
+    private static final Logger LOG = Logger.getLogger(SystemTransformer.class);
+
     private static final String ASSEMBLY_CONTEXT_NAME_PATTERN = "%s Assembly Context";
     private static final String ASSEMBLY_CONNECTOR_NAME_PATTERN = "%s Connector";
     private static final String DELEGATION_ROLE_NAME_PATTERN = "%s Delegation-Provider";
     private static final String DELEGATION_CONNECTOR_NAME_PATTERN = "%s Delegation Connector";
 
+    /**
+     * Transforms the repository of the model as well. Use {@link #transform(PcmSurrogate, Repository)} if the
+     * repository has already been transformed.
+     */
     @Override
     public System transform(PcmSurrogate model) {
+        LOG.info("Transforming repository for system, pass an already transformed repository to avoid this");
         Repository repository = new RepositoryTransformer().transform(model);
         return this.transform(model, repository);
     }
@@ -46,15 +57,23 @@ public class SystemTransformer implements Transformer<PcmSurrogate, org.palladio
             fluentSystem.addToSystem(connectorCreator);
         }
 
+        // Collect required interfaces and composite children once instead of once per provision
+        Set<Interface> requiredInterfaces = new HashSet<>();
+        for (InterfaceRequirementRelation relation : model.getByType(InterfaceRequirementRelation.class)) {
+            requiredInterfaces.add(relation.getDestination());
+        }
+        Set<Component<?>> compositeChildren = new HashSet<>();
+        for (CompositionRelation relation : model.getByType(CompositionRelation.class)) {
+            compositeChildren.add(relation.getDestination());
+        }
+
         // Add provided delegation connectors for provided non-required interfaces
         for (InterfaceProvisionRelation relation : model.getByType(InterfaceProvisionRelation.class)) {
             Interface providedInteface = relation.getDestination();
             String providedIntefaceName = providedInteface.getValue().getEntityName();
             Component<?> provider = relation.getSource();
-            boolean existsRequirement = model.getByType(InterfaceRequirementRelation.class).stream()
-                    .anyMatch(requirementRelation -> requirementRelation.getDestination().equals(providedInteface));
-            boolean isCompositeChild = model.getByType(CompositionRelation.class).stream()
-                    .anyMatch(composition -> composition.getDestination().equals(provider));
+            boolean existsRequirement = requiredInterfaces.contains(providedInteface);
+            boolean isCompositeChild = compositeChildren.contains(provider);
             // Check whether interface should be excluded from delegation
             boolean excludeDelegation = RepositoryTransformer.isExcludedFromDelegation(provider, providedInteface);
 
@@ -1,7 +1,10 @@
 package org.palladiosimulator.somox.analyzer.rules.mocore.workflow;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.palladiosimulator.pcm.allocation.Allocation;
@@ -11,6 +14,8 @@ import org.palladiosimulator.pcm.system.System;
 import org.palladiosimulator.somox.analyzer.rules.mocore.discovery.RepositoryDecompositor;
 import org.palladiosimulator.somox.analyzer.rules.mocore.orchestration.PcmOrchestrator;
 import org.palladiosimulator.somox.analyzer.rules.mocore.surrogate.PcmSurrogate;
+import org.palladiosimulator.somox.analyzer.rules.mocore.surrogate.element.Deployment;
+import org.palladiosimulator.somox.analyzer.rules.mocore.surrogate.relation.LinkResourceSpecificationRelation;
 import org.palladiosimulator.somox.analyzer.rules.mocore.transformation.AllocationTransformer;
 import org.palladiosimulator.somox.analyzer.rules.mocore.transformation.RepositoryTransformer;
 import org.palladiosimulator.somox.analyzer.rules.mocore.transformation.ResourceEnvironmentTransformer;
@@ -32,15 +37,28 @@ public class MoCoReJob implements IBlackboardInteractingJob<Blackboard<Object>>
     private final String systemOutputKey;
     private final String allocationOutputKey;
     private final String resourceEnvironmentOutputKey;
+    private final boolean concurrentTransformation;
+    private final boolean batchedOrchestration;
+    private final boolean coalescedPlaceholders;
 
     public MoCoReJob(Blackboard<Object> blackboard, String repositoryInputKey, String repositoryOutputKey,
             String systemOutputKey, String allocationOutputKey, String resourceEnvironmentOutputKey) {
+        this(blackboard, repositoryInputKey, repositoryOutputKey, systemOutputKey, allocationOutputKey,
+                resourceEnvironmentOutputKey, new Options());
+    }
+
+    public MoCoReJob(Blackboard<Object> blackboard, String repositoryInputKey, String repositoryOutputKey,
+            String systemOutputKey, String allocationOutputKey, String resourceEnvironmentOutputKey,
+            Options options) {
         this.blackboard = Objects.requireNonNull(blackboard);
         this.repositoryInputKey = Objects.requireNonNull(repositoryInputKey);
         this.repositoryOutputKey = Objects.requireNonNull(repositoryOutputKey);
         this.systemOutputKey = Objects.requireNonNull(systemOutputKey);
         this.allocationOutputKey = Objects.requireNonNull(allocationOutputKey);
         this.resourceEnvironmentOutputKey = Objects.requireNonNull(resourceEnvironmentOutputKey);
+        this.concurrentTransformation = options.concurrentTransformation;
+        this.batchedOrchestration = options.batchedOrchestration;
+        this.coalescedPlaceholders = options.coalescedPlaceholders;
     }
 
     @Override
@@ -56,15 +74,39 @@ public class MoCoReJob implements IBlackboardInteractingJob<Blackboard<Object>>
 
         // Composite & refine discoveries via PCM orchestrator
         monitor.subTask("Processing discoveries");
-        PcmOrchestrator orchestrator = new PcmOrchestrator();
-        discoverers.forEach(orchestrator::processDiscoverer);
+        PcmOrchestrator orchestrator = new PcmOrchestrator(new PcmSurrogate(coalescedPlaceholders));
+        if (batchedOrchestration) {
+            orchestrator.processDiscoverers(discoverers);
+        } else {
+            discoverers.forEach(orchestrator::processDiscoverer);
+        }
 
         // Transform surrogate model into PCM models
         monitor.subTask("Transforming surrogate model into output models");
         PcmSurrogate surrogate = orchestrator.getModel();
-        Repository repository = new RepositoryTransformer().transform(surrogate);
-        System system = new SystemTransformer().transform(surrogate, repository);
-        ResourceEnvironment resourceEnvironment = new ResourceEnvironmentTransformer().transform(surrogate);
+        Repository repository;
+        System system;
+        ResourceEnvironment resourceEnvironment;
+        if (concurrentTransformation) {
+            // The resource environment only depends on deployments & links. They are fetched beforehand, because
+            // the repository transformation adds relations to the surrogate.
+            List<Deployment> deployments = surrogate.getByType(Deployment.class);
+            List<LinkResourceSpecificationRelation> linkingRelations = surrogate
+                    .getByType(LinkResourceSpecificationRelation.class);
+            CompletableFuture<ResourceEnvironment> resourceEnvironmentFuture = CompletableFuture
+                    .supplyAsync(() -> new ResourceEnvironmentTransformer().transform(deployments, linkingRelations));
+            repository = new RepositoryTransformer().transform(surrogate);
+            system = new SystemTransformer().transform(surrogate, repository);
+            try {
+                resourceEnvironment = resourceEnvironmentFuture.join();
+            } catch (CompletionException e) {
+                throw new JobFailedException("Failed to transform resource environment", e.getCause());
+            }
+        } else {
+            repository = new RepositoryTransformer().transform(surrogate);
+            system = new SystemTransformer().transform(surrogate, repository);
+            resourceEnvironment = new ResourceEnvironmentTransformer().transform(surrogate);
+        }
         Allocation allocation = new AllocationTransformer().transform(surrogate, system, resourceEnvironment);
 
         // Add transformed models to blackboard
@@ -90,4 +132,40 @@ public class MoCoReJob implements IBlackboardInteractingJob<Blackboard<Object>>
     public void setBlackboard(Blackboard<Object> blackboard) {
         this.blackboard = Objects.requireNonNull(blackboard);
     }
+
+    /**
+     * Optional behavior of the job, everything is disabled by default.
+     */
+    public static final class Options {
+        private boolean concurrentTransformation;
+        private boolean batchedOrchestration;
+        private boolean coalescedPlaceholders;
+
+        /**
+         * @param concurrentTransformation
+         *            whether the resource environment is transformed while the repository and system are
+         */
+        public Options withConcurrentTransformation(boolean concurrentTransformation) {
+            this.concurrentTransformation = concurrentTransformation;
+            return this;
+        }
+
+        /**
+         * @param batchedOrchestration
+         *            whether all discoveries are added to the surrogate before any of them is refined
+         */
+        public Options withBatchedOrchestration(boolean batchedOrchestration) {
+            this.batchedOrchestration = batchedOrchestration;
+            return this;
+        }
+
+        /**
+         * @param coalescedPlaceholders
+         *            whether unallocated components share a single default container and link specification
+         */
+        public Options withCoalescedPlaceholders(boolean coalescedPlaceholders) {
+            this.coalescedPlaceholders = coalescedPlaceholders;
+            return this;
+        }
+    }
 }
@@ -59,6 +59,35 @@ public class RepositoryDecompositorTest extends DecompositorTest<RepositoryDecom
         }
     }
 
+    @Test
+    public void testParallelDecompositionEqualsSequential() {
+        FluentRepositoryFactory factory = new FluentRepositoryFactory();
+        Repository repository = factory.newRepository()
+                .addToRepository(factory.newOperationInterface().withName("Interface"))
+                .addToRepository(factory.newBasicComponent()
+                        .withName("Provider")
+                        .provides(factory.fetchOfOperationInterface("Interface"), "Interface Provider"))
+                .addToRepository(factory.newBasicComponent()
+                        .withName("Consumer")
+                        .requires(factory.fetchOfOperationInterface("Interface"), "Interface Consumer"))
+                .addToRepository(factory.newCompositeComponent()
+                        .withName("Composite")
+                        .withAssemblyContext(factory.fetchOfComponent("Provider"))
+                        .withAssemblyContext(factory.fetchOfComponent("Consumer")))
+                .createRepositoryNow();
+
+        List<Discoverer<?>> sequentialDiscoverers = new ArrayList<>(
+                new RepositoryDecompositor(false).decompose(repository));
+        List<Discoverer<?>> parallelDiscoverers = new ArrayList<>(
+                new RepositoryDecompositor(true).decompose(repository));
+        assertEquals(sequentialDiscoverers.size(), parallelDiscoverers.size());
+        for (int i = 0; i < sequentialDiscoverers.size(); i++) {
+            assertEquals(sequentialDiscoverers.get(i).getDiscoveryType(),
+                    parallelDiscoverers.get(i).getDiscoveryType());
+            assertEquals(sequentialDiscoverers.get(i).getDiscoveries(), parallelDiscoverers.get(i).getDiscoveries());
+        }
+    }
+
     // TODO Add tests for interface, signatures, seff, and all relevant relations
     // TODO Add tests for composition, delegation
 
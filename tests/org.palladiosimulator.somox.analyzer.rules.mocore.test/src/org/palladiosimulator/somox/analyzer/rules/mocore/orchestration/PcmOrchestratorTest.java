@@ -5,10 +5,13 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Stream;
 
 import org.junit.jupiter.api.Test;
+import org.palladiosimulator.somox.analyzer.rules.mocore.discovery.SimpleDiscoverer;
 import org.palladiosimulator.somox.analyzer.rules.mocore.surrogate.PcmSurrogate;
+import org.palladiosimulator.somox.analyzer.rules.mocore.surrogate.element.AtomicComponent;
 import org.palladiosimulator.somox.analyzer.rules.mocore.surrogate.element.Component;
 import org.palladiosimulator.somox.analyzer.rules.mocore.surrogate.element.Deployment;
 import org.palladiosimulator.somox.analyzer.rules.mocore.surrogate.element.Interface;
@@ -23,6 +26,8 @@ import org.palladiosimulator.somox.analyzer.rules.mocore.surrogate.relation.Link
 import org.palladiosimulator.somox.analyzer.rules.mocore.surrogate.relation.SignatureProvisionRelation;
 import org.palladiosimulator.somox.analyzer.rules.mocore.utility.ElementFactory;
 
+import tools.mdsd.mocore.framework.discovery.Discoverer;
+
 public class PcmOrchestratorTest {
     @Test
     public void testExistsComponentAfterProcess() {
@@ -135,4 +140,26 @@ public class PcmOrchestratorTest {
         assertEquals(0, model.getByType(DeploymentDeploymentRelation.class).size());
         assertEquals(0, model.getByType(LinkResourceSpecificationRelation.class).size());
     }
+
+    @Test
+    public void testBatchedProcessingAvoidsPlaceholderProvider() {
+        PcmOrchestrator orchestrator = new PcmOrchestrator();
+        Interface interFace = ElementFactory.createUniqueInterface(false);
+        AtomicComponent component = (AtomicComponent) ElementFactory.createUniqueComponent(false);
+        InterfaceProvisionRelation provision = new InterfaceProvisionRelation(component, interFace, false);
+
+        // The interface is discovered before its provider, which would lead to a placeholder provider
+        List<Discoverer<?>> discoverers = List.of(new SimpleDiscoverer<Interface>(Set.of(interFace), Interface.class),
+                new SimpleDiscoverer<AtomicComponent>(Set.of(component), AtomicComponent.class),
+                new SimpleDiscoverer<InterfaceProvisionRelation>(Set.of(provision), InterfaceProvisionRelation.class));
+        orchestrator.processDiscoverers(discoverers);
+
+        // Assertions
+        PcmSurrogate model = orchestrator.getModel();
+        assertTrue(model.contains(interFace));
+        assertTrue(model.contains(component));
+        assertTrue(model.contains(provision));
+        assertEquals(List.of(provision), model.getByType(InterfaceProvisionRelation.class));
+        assertEquals(1, model.getByType(Component.class).size());
+    }
 }
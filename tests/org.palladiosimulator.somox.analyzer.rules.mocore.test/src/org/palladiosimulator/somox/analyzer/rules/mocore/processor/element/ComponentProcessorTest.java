@@ -4,11 +4,13 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
 import java.util.Set;
+import java.util.stream.Collectors;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.condition.DisabledIf;
 import org.palladiosimulator.somox.analyzer.rules.mocore.surrogate.PcmSurrogate;
 import org.palladiosimulator.somox.analyzer.rules.mocore.surrogate.element.Component;
+import org.palladiosimulator.somox.analyzer.rules.mocore.surrogate.element.Deployment;
 import org.palladiosimulator.somox.analyzer.rules.mocore.surrogate.relation.ComponentAllocationRelation;
 
 import tools.mdsd.mocore.framework.processor.ProcessorTest;
@@ -41,6 +43,31 @@ public abstract class ComponentProcessorTest<T extends Component<?>>
         assertTrue(relation.getDestination().isPlaceholder());
     }
 
+    @Test
+    @DisabledIf(TEST_API_ONLY_METHOD_NAME)
+    public void testRefineWithCoalescedPlaceholdersSharesDeployment() {
+        // Test data
+        PcmSurrogate model = new PcmSurrogate(true);
+        ComponentProcessor<T> processor = createProcessor(model);
+        T fstElement = createUniqueReplaceable();
+        T sndElement = createUniqueReplaceable();
+
+        // Execution
+        processor.refine(fstElement);
+        processor.refine(sndElement);
+        Set<Replaceable> implications = processor.getImplications();
+
+        // Assertions: Post-execution
+        assertEquals(2, implications.size());
+        Set<Deployment> deployments = implications.stream()
+                .map(implication -> ((ComponentAllocationRelation) implication).getDestination())
+                .collect(Collectors.toSet());
+        assertEquals(1, deployments.size());
+        Deployment deployment = deployments.stream().findFirst().orElseThrow();
+        assertTrue(deployment.isPlaceholder());
+        assertTrue(model.isDefaultDeployment(deployment));
+    }
+
     @Override
     protected PcmSurrogate createEmptyModel() {
         return new PcmSurrogate();
@@ -1,16 +1,167 @@
 package org.palladiosimulator.somox.analyzer.rules.mocore.processor.relation;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledIf;
 import org.palladiosimulator.somox.analyzer.rules.mocore.surrogate.PcmSurrogate;
 import org.palladiosimulator.somox.analyzer.rules.mocore.surrogate.element.Component;
 import org.palladiosimulator.somox.analyzer.rules.mocore.surrogate.element.Deployment;
+import org.palladiosimulator.somox.analyzer.rules.mocore.surrogate.element.Interface;
+import org.palladiosimulator.somox.analyzer.rules.mocore.surrogate.element.LinkResourceSpecification;
 import org.palladiosimulator.somox.analyzer.rules.mocore.surrogate.relation.ComponentAllocationRelation;
+import org.palladiosimulator.somox.analyzer.rules.mocore.surrogate.relation.ComponentAssemblyRelation;
+import org.palladiosimulator.somox.analyzer.rules.mocore.surrogate.relation.DeploymentDeploymentRelation;
+import org.palladiosimulator.somox.analyzer.rules.mocore.surrogate.relation.InterfaceProvisionRelation;
+import org.palladiosimulator.somox.analyzer.rules.mocore.surrogate.relation.InterfaceRequirementRelation;
+import org.palladiosimulator.somox.analyzer.rules.mocore.surrogate.relation.LinkResourceSpecificationRelation;
 import org.palladiosimulator.somox.analyzer.rules.mocore.utility.ElementFactory;
 
 import tools.mdsd.mocore.framework.processor.RelationProcessorTest;
+import tools.mdsd.mocore.framework.surrogate.Replaceable;
 
 public class ComponentAllocationRelationProcessorTest
         extends RelationProcessorTest<ComponentAllocationRelationProcessor,
                 PcmSurrogate, ComponentAllocationRelation, Component<?>, Deployment> {
+    @Test
+    @DisabledIf(TEST_API_ONLY_METHOD_NAME)
+    public void testRefineMovesDeploymentLinksFromDefaultDeployment() {
+        // Test data
+        PcmSurrogate model = new PcmSurrogate(true);
+        ComponentAllocationRelationProcessor processor = createProcessor(model);
+
+        Interface assemblyInterface = Interface.getUniquePlaceholder();
+        InterfaceProvisionRelation provision = new InterfaceProvisionRelation(Component.getUniquePlaceholder(),
+                assemblyInterface, false);
+        InterfaceRequirementRelation requirement = new InterfaceRequirementRelation(Component.getUniquePlaceholder(),
+                assemblyInterface, false);
+        ComponentAssemblyRelation assembly = new ComponentAssemblyRelation(provision, requirement, false);
+
+        Deployment defaultDeployment = model.getPlaceholderDeployment();
+        Deployment providingContainer = ElementFactory.createUniqueDeployment(false);
+        Deployment requiringContainer = ElementFactory.createUniqueDeployment(false);
+        ComponentAllocationRelation placeholderAllocation = new ComponentAllocationRelation(provision.getSource(),
+                defaultDeployment, true);
+        ComponentAllocationRelation requiringAllocation = new ComponentAllocationRelation(requirement.getSource(),
+                requiringContainer, false);
+        DeploymentDeploymentRelation placeholderLink = new DeploymentDeploymentRelation(defaultDeployment,
+                requiringContainer, true);
+        LinkResourceSpecification defaultSpecification = model.getPlaceholderLinkSpecification();
+        LinkResourceSpecificationRelation placeholderSpecification = new LinkResourceSpecificationRelation(
+                defaultSpecification, placeholderLink, true);
+        ComponentAllocationRelation relation = createRelation(provision.getSource(), providingContainer, false);
+
+        // Add assembly, containers, allocations & link to model
+        addAssembly(model, assembly);
+        model.add(defaultDeployment);
+        model.add(requiringContainer);
+        model.add(defaultSpecification);
+        model.add(placeholderAllocation);
+        model.add(requiringAllocation);
+        model.add(placeholderLink);
+        model.add(placeholderSpecification);
+
+        // Assertions: Pre-execution
+        assertTrue(processor.getImplications().isEmpty());
+        assertEquals(1, model.getDeploymentLinks(defaultDeployment, requiringContainer).size());
+
+        // Execution
+        processor.refine(relation);
+
+        // Assertions: Post-execution
+        assertFalse(model.contains(placeholderAllocation));
+        assertFalse(model.contains(placeholderLink));
+        assertTrue(model.contains(defaultDeployment));
+        assertTrue(model.getDeploymentLinks(defaultDeployment, requiringContainer).isEmpty());
+        List<DeploymentDeploymentRelation> movedLinks = model.getDeploymentLinks(providingContainer,
+                requiringContainer);
+        assertEquals(1, movedLinks.size());
+        List<LinkResourceSpecificationRelation> specifications = model
+                .getByDestination(LinkResourceSpecificationRelation.class, movedLinks.get(0));
+        assertEquals(1, specifications.size());
+        assertEquals(defaultSpecification, specifications.get(0).getSource());
+    }
+
+    @Test
+    @DisabledIf(TEST_API_ONLY_METHOD_NAME)
+    public void testRefineKeepsDeploymentLinksStillNeededByDefaultDeployment() {
+        // Test data
+        PcmSurrogate model = new PcmSurrogate(true);
+        ComponentAllocationRelationProcessor processor = createProcessor(model);
+
+        Interface assemblyInterface = Interface.getUniquePlaceholder();
+        InterfaceProvisionRelation provision = new InterfaceProvisionRelation(Component.getUniquePlaceholder(),
+                assemblyInterface, false);
+        InterfaceProvisionRelation otherProvision = new InterfaceProvisionRelation(Component.getUniquePlaceholder(),
+                assemblyInterface, false);
+        InterfaceRequirementRelation requirement = new InterfaceRequirementRelation(Component.getUniquePlaceholder(),
+                assemblyInterface, false);
+        ComponentAssemblyRelation assembly = new ComponentAssemblyRelation(provision, requirement, false);
+        ComponentAssemblyRelation otherAssembly = new ComponentAssemblyRelation(otherProvision, requirement, false);
+
+        Deployment defaultDeployment = model.getPlaceholderDeployment();
+        Deployment providingContainer = ElementFactory.createUniqueDeployment(false);
+        Deployment requiringContainer = ElementFactory.createUniqueDeployment(false);
+        ComponentAllocationRelation placeholderAllocation = new ComponentAllocationRelation(provision.getSource(),
+                defaultDeployment, true);
+        ComponentAllocationRelation otherAllocation = new ComponentAllocationRelation(otherProvision.getSource(),
+                defaultDeployment, true);
+        ComponentAllocationRelation requiringAllocation = new ComponentAllocationRelation(requirement.getSource(),
+                requiringContainer, false);
+        DeploymentDeploymentRelation placeholderLink = new DeploymentDeploymentRelation(defaultDeployment,
+                requiringContainer, true);
+        ComponentAllocationRelation relation = createRelation(provision.getSource(), providingContainer, false);
+
+        // Add assemblies, containers, allocations & link to model
+        addAssembly(model, assembly);
+        addAssembly(model, otherAssembly);
+        model.add(defaultDeployment);
+        model.add(requiringContainer);
+        model.add(placeholderAllocation);
+        model.add(otherAllocation);
+        model.add(requiringAllocation);
+        model.add(placeholderLink);
+
+        // Assertions: Pre-execution
+        assertTrue(processor.getImplications().isEmpty());
+
+        // Execution
+        processor.refine(relation);
+        List<DeploymentDeploymentRelation> implicitLinks = processor.getImplications()
+                .stream()
+                .filter(DeploymentDeploymentRelation.class::isInstance)
+                .map(DeploymentDeploymentRelation.class::cast)
+                .collect(Collectors.toList());
+
+        // Assertions: Post-execution
+        assertFalse(model.contains(placeholderAllocation));
+        assertTrue(model.contains(otherAllocation));
+        assertTrue(model.contains(placeholderLink));
+        assertEquals(1, implicitLinks.size());
+        assertEquals(providingContainer, implicitLinks.get(0).getSource());
+        assertEquals(requiringContainer, implicitLinks.get(0).getDestination());
+        assertTrue(implicitLinks.get(0).isPlaceholder());
+    }
+
+    private static void addAssembly(PcmSurrogate model, ComponentAssemblyRelation assembly) {
+        for (Replaceable replaceable : List.of(assembly.getSource().getSource(),
+                assembly.getDestination().getSource(), assembly.getSource().getDestination())) {
+            if (!model.contains(replaceable)) {
+                model.add(replaceable);
+            }
+        }
+        for (Replaceable replaceable : List.of(assembly.getSource(), assembly.getDestination(), assembly)) {
+            if (!model.contains(replaceable)) {
+                model.add(replaceable);
+            }
+        }
+    }
+
     @Override
     protected ComponentAllocationRelation createRelation(Component<?> source, Deployment destination,
             boolean isPlaceholder) {
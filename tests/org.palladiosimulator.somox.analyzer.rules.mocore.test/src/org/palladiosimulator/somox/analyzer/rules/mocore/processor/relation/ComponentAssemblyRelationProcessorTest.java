@@ -144,6 +144,47 @@ public class ComponentAssemblyRelationProcessorTest extends RelationProcessorTes
         assertTrue(implicitDeploymentLink.isPlaceholder());
     }
 
+    @Test
+    @DisabledIf(TEST_API_ONLY_METHOD_NAME)
+    public void testRefinementDoesNotAddInverseDeploymentRelation() {
+        // Test data
+        PcmSurrogate model = createEmptyModel();
+        ComponentAssemblyRelationProcessor processor = createProcessor(model);
+
+        InterfaceProvisionRelation interfaceProvision = getUniqueNonPlaceholderSourceEntity();
+        InterfaceRequirementRelation interfaceRequirement = getUniqueNonPlaceholderDestinationEntity();
+        ComponentAssemblyRelation relation = createRelation(interfaceProvision, interfaceRequirement, false);
+
+        Deployment providingContainer = Deployment.getUniquePlaceholder();
+        Deployment requiringContainer = Deployment.getUniquePlaceholder();
+        ComponentAllocationRelation providingAllocation = new ComponentAllocationRelation(
+                interfaceProvision.getSource(), providingContainer, false);
+        ComponentAllocationRelation requiringAllocation = new ComponentAllocationRelation(
+                interfaceRequirement.getSource(), requiringContainer, false);
+        DeploymentDeploymentRelation inverseLink = new DeploymentDeploymentRelation(requiringContainer,
+                providingContainer, false);
+
+        // Add containers, allocations & inverse link to model
+        model.add(providingContainer);
+        model.add(requiringContainer);
+        model.add(providingAllocation);
+        model.add(requiringAllocation);
+        model.add(inverseLink);
+
+        // Assertions: Pre-execution
+        assertTrue(processor.getImplications().isEmpty());
+
+        // Execution
+        processor.refine(relation);
+        Set<Replaceable> implications = new HashSet<>(processor.getImplications());
+
+        // Assertions: Post-execution
+        assertTrue(implications.remove(relation.getSource()));
+        assertTrue(implications.remove(relation.getDestination()));
+        assertEquals(0, implications.size());
+        assertTrue(model.contains(inverseLink));
+    }
+
     @Override
     protected ComponentAssemblyRelation createRelation(InterfaceProvisionRelation source,
             InterfaceRequirementRelation destination,
@@ -1,5 +1,13 @@
 package org.palladiosimulator.somox.analyzer.rules.mocore.processor.relation;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledIf;
 import org.palladiosimulator.somox.analyzer.rules.mocore.surrogate.PcmSurrogate;
 import org.palladiosimulator.somox.analyzer.rules.mocore.surrogate.element.Deployment;
 import org.palladiosimulator.somox.analyzer.rules.mocore.surrogate.element.LinkResourceSpecification;
@@ -12,6 +20,53 @@ import tools.mdsd.mocore.framework.processor.RelationProcessorTest;
 public class LinkResourceSpecificationRelationProcessorTest
         extends RelationProcessorTest<LinkResourceSpecificationRelationProcessor, PcmSurrogate,
                 LinkResourceSpecificationRelation, LinkResourceSpecification, DeploymentDeploymentRelation> {
+    @Test
+    @DisabledIf(TEST_API_ONLY_METHOD_NAME)
+    public void testRefineReplacesDefaultSpecificationOfAffectedLinkOnly() {
+        // Test data
+        PcmSurrogate model = new PcmSurrogate(true);
+        LinkResourceSpecificationRelationProcessor processor = createProcessor(model);
+
+        LinkResourceSpecification defaultSpecification = model.getPlaceholderLinkSpecification();
+        DeploymentDeploymentRelation specifiedLink = getUniqueNonPlaceholderDestinationEntity();
+        DeploymentDeploymentRelation otherLink = getUniqueNonPlaceholderDestinationEntity();
+        LinkResourceSpecificationRelation placeholderRelation = createRelation(defaultSpecification, specifiedLink,
+                true);
+        LinkResourceSpecificationRelation otherPlaceholderRelation = createRelation(defaultSpecification, otherLink,
+                true);
+        LinkResourceSpecificationRelation relation = createRelation(getUniqueNonPlaceholderSourceEntity(),
+                specifiedLink, false);
+
+        // Add links & default specification to model
+        for (DeploymentDeploymentRelation link : List.of(specifiedLink, otherLink)) {
+            model.add(link.getSource());
+            model.add(link.getDestination());
+            model.add(link);
+        }
+        model.add(defaultSpecification);
+        model.add(placeholderRelation);
+        model.add(otherPlaceholderRelation);
+
+        // Assertions: Pre-execution
+        assertTrue(processor.getImplications().isEmpty());
+
+        // Execution
+        processor.refine(relation);
+
+        // Assertions: Post-execution
+        assertFalse(model.contains(placeholderRelation));
+        assertTrue(model.contains(defaultSpecification));
+        assertTrue(model.contains(otherPlaceholderRelation));
+        List<LinkResourceSpecificationRelation> specifications = model
+                .getByDestination(LinkResourceSpecificationRelation.class, specifiedLink);
+        assertEquals(1, specifications.size());
+        assertEquals(relation.getSource(), specifications.get(0).getSource());
+        List<LinkResourceSpecificationRelation> otherSpecifications = model
+                .getByDestination(LinkResourceSpecificationRelation.class, otherLink);
+        assertEquals(1, otherSpecifications.size());
+        assertEquals(defaultSpecification, otherSpecifications.get(0).getSource());
+    }
+
     @Override
     protected LinkResourceSpecificationRelation createRelation(LinkResourceSpecification source,
             DeploymentDeploymentRelation destination, boolean isPlaceholder) {
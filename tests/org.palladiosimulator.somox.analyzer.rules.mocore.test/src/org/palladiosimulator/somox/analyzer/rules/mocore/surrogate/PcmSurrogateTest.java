@@ -1,5 +1,12 @@
 package org.palladiosimulator.somox.analyzer.rules.mocore.surrogate;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
 import tools.mdsd.mocore.framework.surrogate.ModelTest;
 import tools.mdsd.mocore.framework.surrogate.Relation;
 import tools.mdsd.mocore.utility.SimpleElement;
@@ -21,4 +28,38 @@ public class PcmSurrogateTest extends ModelTest<PcmSurrogate, SimpleElement> {
             boolean isPlaceholder) {
         return new SimpleRelation(source, destination, isPlaceholder);
     }
+
+    @Test
+    public void testIndexFindsRelationsByEndpoint() {
+        PcmSurrogate model = createEmptyModel();
+        SimpleElement source = createUniqueReplaceable();
+        SimpleElement destination = createUniqueReplaceable();
+        SimpleRelation relation = new SimpleRelation(source, destination, false);
+        model.add(source);
+        model.add(destination);
+        model.add(relation);
+
+        assertEquals(List.of(relation), model.getBySource(SimpleRelation.class, source));
+        assertEquals(List.of(relation), model.getByDestination(SimpleRelation.class, destination));
+        assertTrue(model.getBySource(SimpleRelation.class, destination).isEmpty());
+    }
+
+    @Test
+    public void testIndexFollowsReplacement() {
+        PcmSurrogate model = createEmptyModel();
+        SimpleElement source = createUniqueReplaceable();
+        SimpleElement destination = createUniqueReplaceable();
+        SimpleElement replacement = createUniqueReplaceable();
+        model.add(source);
+        model.add(destination);
+        model.add(new SimpleRelation(source, destination, false));
+
+        model.replace(source, replacement);
+
+        assertTrue(model.getBySource(SimpleRelation.class, source).isEmpty());
+        List<SimpleRelation> relations = model.getBySource(SimpleRelation.class, replacement);
+        assertEquals(1, relations.size());
+        assertEquals(destination, relations.get(0).getDestination());
+        assertEquals(relations, model.getByDestination(SimpleRelation.class, destination));
+    }
 }
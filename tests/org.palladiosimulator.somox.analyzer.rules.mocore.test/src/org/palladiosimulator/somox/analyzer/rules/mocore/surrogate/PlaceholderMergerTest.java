@@ -0,0 +1,50 @@
+package org.palladiosimulator.somox.analyzer.rules.mocore.surrogate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import tools.mdsd.mocore.utility.SimpleElement;
+
+public class PlaceholderMergerTest {
+    @Test
+    public void testTransitiveMerge() {
+        PlaceholderMerger merger = new PlaceholderMerger();
+        SimpleElement first = new SimpleElement(true);
+        SimpleElement second = new SimpleElement(true);
+        SimpleElement replacement = new SimpleElement(false);
+        SimpleElement unrelated = new SimpleElement(true);
+
+        merger.merge(first, second);
+        merger.merge(second, replacement);
+
+        assertTrue(merger.isMerged(first));
+        assertTrue(merger.isMerged(replacement));
+        assertFalse(merger.isMerged(unrelated));
+        assertEquals(replacement, merger.getReplacement(first));
+        assertEquals(replacement, merger.getReplacement(second));
+        assertEquals(unrelated, merger.getReplacement(unrelated));
+    }
+
+    @Test
+    public void testReplaceInModel() {
+        PcmSurrogate model = new PcmSurrogate();
+        SimpleElement first = new SimpleElement(true);
+        SimpleElement second = new SimpleElement(true);
+        SimpleElement replacement = new SimpleElement(false);
+        model.add(first);
+        model.add(second);
+        model.add(replacement);
+
+        PlaceholderMerger merger = new PlaceholderMerger();
+        merger.merge(first, replacement);
+        merger.merge(second, first);
+        merger.replaceIn(model);
+
+        assertFalse(model.contains(first));
+        assertFalse(model.contains(second));
+        assertTrue(model.contains(replacement));
+    }
+}
@@ -10,6 +10,7 @@ import java.util.stream.Collectors;
 import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.emf.common.util.EList;
 import org.junit.jupiter.api.Test;
+import org.palladiosimulator.pcm.allocation.Allocation;
 import org.palladiosimulator.generator.fluent.repository.api.Repo;
 import org.palladiosimulator.generator.fluent.repository.factory.FluentRepositoryFactory;
 import org.palladiosimulator.pcm.core.composition.AssemblyConnector;
@@ -213,4 +214,34 @@ public class MoCoReJobTest {
         assertEquals("Doable", delegationConnector.getOuterProvidedRole_ProvidedDelegationConnector()
                 .getProvidedInterface__OperationProvidedRole().getEntityName());
     }
+
+    @Test
+    public void testConcurrentTransformation() throws Exception {
+        // Create blackboard and fluent repository
+        Blackboard<Object> blackboard = new Blackboard<Object>();
+        FluentRepositoryFactory fluentFactory = new FluentRepositoryFactory();
+        Repo fluentRepository = fluentFactory.newRepository();
+        fluentRepository
+                .addToRepository(fluentFactory.newOperationInterface().withName("Doable"))
+                .addToRepository(fluentFactory.newBasicComponent()
+                        .withName("Provider")
+                        .provides(fluentFactory.fetchOfOperationInterface("Doable"), "Doable Provider"))
+                .addToRepository(fluentFactory.newBasicComponent()
+                        .withName("Consumer")
+                        .requires(fluentFactory.fetchOfOperationInterface("Doable"), "Doable Consumer"));
+        blackboard.addPartition(BLACKBOARD_INPUT_REPOSITORY, fluentRepository.createRepositoryNow());
+
+        // Create and run job
+        MoCoReJob job = new MoCoReJob(blackboard, BLACKBOARD_INPUT_REPOSITORY,
+                BLACKBOARD_OUTPUT_REPOSITORY, BLACKBOARD_OUTPUT_SYSTEM, BLACKBOARD_OUTPUT_ALLOCATION,
+                BLACKBOARD_OUTPUT_RESOURCEENVIRONMENT, new MoCoReJob.Options().withConcurrentTransformation(true));
+        job.execute(new NullProgressMonitor());
+
+        // Check that the allocation joins the concurrently transformed models
+        Allocation allocation = (Allocation) blackboard.getPartition(BLACKBOARD_OUTPUT_ALLOCATION);
+        assertEquals(blackboard.getPartition(BLACKBOARD_OUTPUT_SYSTEM), allocation.getSystem_Allocation());
+        assertEquals(blackboard.getPartition(BLACKBOARD_OUTPUT_RESOURCEENVIRONMENT),
+                allocation.getTargetResourceEnvironment_Allocation());
+        assertEquals(2, allocation.getAllocationContexts_Allocation().size());
+    }
 }
@@ -0,0 +1,7 @@
+package composite;
+
+public class Box<T> {
+    private T content;
+    private T[] contents;
+    private int size;
+}
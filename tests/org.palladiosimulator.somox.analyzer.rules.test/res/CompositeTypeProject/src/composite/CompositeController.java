@@ -0,0 +1,15 @@
+package composite;
+
+@Path("/composite")
+public class CompositeController {
+
+    @GET
+    public Level1 get(Level1 level, Node node) {
+        return level;
+    }
+
+    @POST
+    public void put(Box<Level4> first, Box<Node> second) {
+    }
+
+}
@@ -0,0 +1,7 @@
+package composite;
+
+public class Level1 {
+    private Level2 first;
+    private Level2 second;
+    private int value;
+}
@@ -0,0 +1,5 @@
+package composite;
+
+public class Level2 {
+    private Level3 next;
+}
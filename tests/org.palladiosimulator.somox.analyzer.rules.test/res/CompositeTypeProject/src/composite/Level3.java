@@ -0,0 +1,5 @@
+package composite;
+
+public class Level3 {
+    private Level4 next;
+}
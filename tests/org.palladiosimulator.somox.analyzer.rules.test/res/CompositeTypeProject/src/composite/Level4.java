@@ -0,0 +1,5 @@
+package composite;
+
+public class Level4 {
+    private int value;
+}
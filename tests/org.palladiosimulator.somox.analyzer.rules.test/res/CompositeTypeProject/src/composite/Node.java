@@ -0,0 +1,5 @@
+package composite;
+
+public class Node {
+    private Node next;
+}
@@ -0,0 +1,67 @@
+package org.palladiosimulator.somox.analyzer.rules.blackboard;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.file.Path;
+
+import org.eclipse.jdt.core.dom.AST;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.junit.jupiter.api.Test;
+import org.palladiosimulator.pcm.seff.SeffFactory;
+import org.palladiosimulator.pcm.seff.ServiceEffectSpecification;
+import org.palladiosimulator.pcm.system.System;
+import org.palladiosimulator.pcm.system.SystemFactory;
+
+/**
+ * The internal maps are concurrent maps, so null keys and values are handled differently than by
+ * the hash maps used before.
+ */
+public class RuleEngineBlackboardTest {
+
+    @Test
+    public void testNullKeyIsRejected() {
+        RuleEngineBlackboard blackboard = new RuleEngineBlackboard();
+        ServiceEffectSpecification seff = SeffFactory.eINSTANCE.createResourceDemandingSEFF();
+
+        assertThrows(IllegalArgumentException.class, () -> blackboard.putSeffAssociation(null, seff));
+        assertThrows(IllegalArgumentException.class, () -> blackboard.putCompilationUnitLocation(null, Path.of("")));
+        // Looking up a null key does not fail
+        assertNull(blackboard.getSeffAssociation(null));
+        assertNull(blackboard.getCompilationUnitLocation(null));
+    }
+
+    @Test
+    public void testNullValueRemovesAssociation() {
+        RuleEngineBlackboard blackboard = new RuleEngineBlackboard();
+        CompilationUnit compilationUnit = AST.newAST(AST.getJLSLatest(), false)
+            .newCompilationUnit();
+        ServiceEffectSpecification seff = SeffFactory.eINSTANCE.createResourceDemandingSEFF();
+        blackboard.putSeffAssociation(compilationUnit, seff);
+
+        blackboard.putSeffAssociation(compilationUnit, null);
+        assertNull(blackboard.getSeffAssociation(compilationUnit));
+        assertFalse(blackboard.getSeffAssociations()
+            .containsKey(compilationUnit));
+
+        Path path = Path.of("Component.java");
+        assertNull(blackboard.putCompilationUnitLocation(compilationUnit, path));
+        // The previous value is returned, as by Map.put
+        assertSame(path, blackboard.putCompilationUnitLocation(compilationUnit, null));
+        assertNull(blackboard.getCompilationUnitLocation(compilationUnit));
+    }
+
+    @Test
+    public void testNullSystemPathIsNotReported() {
+        RuleEngineBlackboard blackboard = new RuleEngineBlackboard();
+        System system = SystemFactory.eINSTANCE.createSystem();
+        blackboard.putSystemPath(system, Path.of("pom.xml"));
+
+        blackboard.putSystemPath(system, null);
+        assertEquals(0, blackboard.getEntityPaths()
+            .size());
+    }
+}
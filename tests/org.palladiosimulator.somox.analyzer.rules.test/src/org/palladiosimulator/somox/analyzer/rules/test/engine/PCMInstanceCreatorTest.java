@@ -0,0 +1,102 @@
+package org.palladiosimulator.somox.analyzer.rules.test.engine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.dom.AST;
+import org.eclipse.jdt.core.dom.ASTParser;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.dom.IMethodBinding;
+import org.eclipse.jdt.core.dom.TypeDeclaration;
+import org.junit.jupiter.api.Test;
+import org.palladiosimulator.pcm.repository.BasicComponent;
+import org.palladiosimulator.pcm.repository.OperationProvidedRole;
+import org.palladiosimulator.pcm.repository.OperationSignature;
+import org.palladiosimulator.pcm.repository.Repository;
+import org.palladiosimulator.pcm.seff.ServiceEffectSpecification;
+import org.palladiosimulator.somox.analyzer.rules.blackboard.RuleEngineBlackboard;
+import org.palladiosimulator.somox.analyzer.rules.engine.PCMDetector;
+import org.palladiosimulator.somox.analyzer.rules.engine.PCMInstanceCreator;
+import org.palladiosimulator.somox.analyzer.rules.model.HTTPMethod;
+import org.palladiosimulator.somox.analyzer.rules.model.Operation;
+import org.palladiosimulator.somox.analyzer.rules.model.RESTName;
+
+public class PCMInstanceCreatorTest {
+
+    private static final String SOURCE = "package rest;\n" //
+            + "public class Endpoint {\n" //
+            + "    public void get() {}\n" //
+            + "}\n";
+
+    private static CompilationUnit parse(String unitName, String source) {
+        final ASTParser parser = ASTParser.newParser(AST.getJLSLatest());
+        parser.setKind(ASTParser.K_COMPILATION_UNIT);
+        parser.setResolveBindings(true);
+        parser.setBindingsRecovery(true);
+        final String latestJavaVersion = JavaCore.latestSupportedJavaVersion();
+        parser.setCompilerOptions(Map.of(JavaCore.COMPILER_SOURCE, latestJavaVersion, JavaCore.COMPILER_COMPLIANCE,
+                latestJavaVersion, JavaCore.COMPILER_CODEGEN_TARGET_PLATFORM, latestJavaVersion));
+        parser.setEnvironment(new String[0], new String[0], new String[0], true);
+        parser.setUnitName(unitName);
+        parser.setSource(source.toCharArray());
+        return (CompilationUnit) parser.createAST(null);
+    }
+
+    /**
+     * An operation may be part of several interfaces. With lazy SEFF stubs, the SEFF of a component
+     * must describe the signature of the interface the component provides, not of the first
+     * interface containing the operation.
+     */
+    @Test
+    void lazySeffDescribesProvidedInterface() {
+        CompilationUnit unit = parse("/rest/Endpoint.java", SOURCE);
+        IMethodBinding method = ((TypeDeclaration) unit.types()
+            .get(0)).getMethods()[0].resolveBinding();
+        assertNotNull(method, "the method binding must be resolved");
+
+        Operation operation = new Operation(method, new RESTName("/a/get", Optional.of(HTTPMethod.GET)));
+        // Lists the operation under a broader interface as well, which sorts before the provided one
+        PCMDetector detector = new PCMDetector() {
+            @Override
+            protected Map<String, List<Operation>> getOperationInterfaces() {
+                Map<String, List<Operation>> interfaces = new HashMap<>(super.getOperationInterfaces());
+                interfaces.put("/a", List.of(operation));
+                return interfaces;
+            }
+        };
+        // Detecting the operation alone keeps the class itself from becoming a provided interface
+        detector.detectProvidedOperation(unit, method, operation.getName());
+
+        RuleEngineBlackboard blackboard = new RuleEngineBlackboard();
+        blackboard.addCompilationUnit(unit);
+        blackboard.setPCMDetector(detector);
+
+        Repository repository = new PCMInstanceCreator(blackboard, PCMInstanceCreator.DEFAULT_COMPOSITE_TYPE_DEPTH,
+                true).createPCM(Map.of());
+
+        assertEquals(2, repository.getInterfaces__Repository()
+            .size());
+        assertEquals(1, repository.getComponents__Repository()
+            .size());
+        BasicComponent component = (BasicComponent) repository.getComponents__Repository()
+            .get(0);
+        assertEquals(1, component.getProvidedRoles_InterfaceProvidingEntity()
+            .size());
+        OperationProvidedRole role = (OperationProvidedRole) component.getProvidedRoles_InterfaceProvidingEntity()
+            .get(0);
+        assertEquals(1, component.getServiceEffectSpecifications__BasicComponent()
+            .size());
+        ServiceEffectSpecification seff = component.getServiceEffectSpecifications__BasicComponent()
+            .get(0);
+
+        OperationSignature signature = (OperationSignature) seff.getDescribedService__SEFF();
+        assertSame(role.getProvidedInterface__OperationProvidedRole(), signature.getInterface__OperationSignature());
+    }
+}
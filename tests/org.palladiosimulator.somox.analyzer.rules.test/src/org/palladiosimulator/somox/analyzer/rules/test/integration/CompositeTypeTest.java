@@ -0,0 +1,128 @@
+package org.palladiosimulator.somox.analyzer.rules.test.integration;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.junit.jupiter.api.Test;
+import org.palladiosimulator.generator.fluent.shared.util.ModelLoader;
+import org.palladiosimulator.pcm.repository.CompositeDataType;
+import org.palladiosimulator.pcm.repository.DataType;
+import org.palladiosimulator.pcm.repository.InnerDeclaration;
+import org.palladiosimulator.pcm.repository.Repository;
+import org.palladiosimulator.somox.analyzer.rules.all.DefaultRule;
+import org.palladiosimulator.somox.analyzer.rules.configuration.RuleEngineConfiguration;
+import org.palladiosimulator.somox.analyzer.rules.workflow.RuleEngineJob;
+
+import de.uka.ipd.sdq.workflow.jobs.JobFailedException;
+import de.uka.ipd.sdq.workflow.jobs.UserCanceledException;
+
+public class CompositeTypeTest extends RuleEngineTest {
+
+    private static final String PROJECT_NAME = "CompositeTypeProject";
+    private static final DefaultRule[] RULES = { DefaultRule.JAX_RS };
+
+    protected CompositeTypeTest() {
+        super(PROJECT_NAME, RULES);
+        loadArtifacts(Artifacts.RULEENGINE);
+    }
+
+    private static CompositeDataType getCompositeType(List<DataType> dataTypes, String name) {
+        CompositeDataType compositeType = null;
+        for (final DataType dataType : dataTypes) {
+            if (dataType instanceof CompositeDataType && name.equals(((CompositeDataType) dataType).getEntityName())) {
+                compositeType = (CompositeDataType) dataType;
+            }
+        }
+        assertNotNull(compositeType);
+        return compositeType;
+    }
+
+    private static Set<String> getDeclarationNames(CompositeDataType compositeType) {
+        return compositeType.getInnerDeclaration_CompositeDataType()
+            .stream()
+            .map(InnerDeclaration::getEntityName)
+            .collect(Collectors.toSet());
+    }
+
+    /**
+     * The fields are extracted up to the default depth, the types beyond it stay empty.
+     */
+    @Test
+    void testDefaultDepth() {
+        List<DataType> dataTypes = getDatatypes();
+        assertEquals(Set.of("first", "second", "value"),
+                getDeclarationNames(getCompositeType(dataTypes, "composite_Level1")));
+        assertEquals(Set.of("next"), getDeclarationNames(getCompositeType(dataTypes, "composite_Level2")));
+        assertEquals(Set.of("next"), getDeclarationNames(getCompositeType(dataTypes, "composite_Level3")));
+        assertEquals(Set.of(), getDeclarationNames(getCompositeType(dataTypes, "composite_Level4")));
+    }
+
+    /**
+     * A type that is reached several times is extracted once, and cyclic types terminate.
+     */
+    @Test
+    void testTypesAreExtractedOnce() {
+        List<DataType> dataTypes = getDatatypes();
+        assertEquals(1, dataTypes.stream()
+            .filter(CompositeDataType.class::isInstance)
+            .map(CompositeDataType.class::cast)
+            .filter(x -> "composite_Level2".equals(x.getEntityName()))
+            .count());
+        assertEquals(1, getCompositeType(dataTypes, "composite_Level2").getInnerDeclaration_CompositeDataType()
+            .size());
+
+        CompositeDataType node = getCompositeType(dataTypes, "composite_Node");
+        assertEquals(1, node.getInnerDeclaration_CompositeDataType()
+            .size());
+        assertSame(node, node.getInnerDeclaration_CompositeDataType()
+            .get(0)
+            .getDatatype_InnerDeclaration());
+    }
+
+    /**
+     * All parameterizations of a generic type share one composite type, which only contains the
+     * fields that do not depend on the type parameter.
+     */
+    @Test
+    void testGenericTypesAreErased() {
+        List<DataType> dataTypes = getDatatypes();
+        assertEquals(1, dataTypes.stream()
+            .filter(CompositeDataType.class::isInstance)
+            .map(CompositeDataType.class::cast)
+            .filter(x -> "composite_Box".equals(x.getEntityName()))
+            .count());
+        assertEquals(Set.of("size"), getDeclarationNames(getCompositeType(dataTypes, "composite_Box")));
+    }
+
+    @Test
+    void testConfiguredDepth() throws JobFailedException, UserCanceledException {
+        RuleEngineConfiguration ruleEngineConfig = getConfig();
+        int previousDepth = ruleEngineConfig.getCompositeTypeDepth();
+        ruleEngineConfig.setCompositeTypeDepth(1);
+        ruleEngineConfig.setOutputFolder(ruleEngineConfig.getOutputFolder()
+            .appendSegment("shallow"));
+        try {
+            final RuleEngineJob ruleEngine = new RuleEngineJob(ruleEngineConfig);
+            ruleEngine.execute(new NullProgressMonitor());
+            // The types are moved out of the blackboard repository later on, so the saved one is read
+            final Repository repo = ModelLoader.loadRepository(ruleEngineConfig.getOutputFolder()
+                .appendSegment("pcm.repository")
+                .toString());
+
+            List<DataType> dataTypes = repo.getDataTypes__Repository();
+            assertEquals(Set.of("first", "second", "value"),
+                    getDeclarationNames(getCompositeType(dataTypes, "composite_Level1")));
+            assertEquals(Set.of(), getDeclarationNames(getCompositeType(dataTypes, "composite_Level2")));
+        } finally {
+            ruleEngineConfig.setCompositeTypeDepth(previousDepth);
+            ruleEngineConfig.setOutputFolder(ruleEngineConfig.getOutputFolder()
+                .trimSegments(1));
+        }
+    }
+}
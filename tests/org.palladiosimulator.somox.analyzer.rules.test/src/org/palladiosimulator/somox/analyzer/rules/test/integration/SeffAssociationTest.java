@@ -1,19 +1,37 @@
 package org.palladiosimulator.somox.analyzer.rules.test.integration;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.emf.common.util.URI;
 import org.eclipse.jdt.core.dom.ASTNode;
 import org.eclipse.jdt.core.dom.MethodDeclaration;
 import org.eclipse.jdt.core.dom.TypeDeclaration;
 import org.junit.jupiter.api.Test;
+import org.palladiosimulator.generator.fluent.shared.util.ModelLoader;
+import org.palladiosimulator.pcm.repository.BasicComponent;
+import org.palladiosimulator.pcm.repository.OperationInterface;
+import org.palladiosimulator.pcm.repository.OperationSignature;
+import org.palladiosimulator.pcm.repository.Repository;
+import org.palladiosimulator.pcm.repository.Signature;
 import org.palladiosimulator.pcm.seff.ServiceEffectSpecification;
 import org.palladiosimulator.somox.analyzer.rules.all.DefaultRule;
 import org.palladiosimulator.somox.analyzer.rules.blackboard.RuleEngineBlackboard;
+import org.palladiosimulator.somox.analyzer.rules.configuration.RuleEngineConfiguration;
+import org.palladiosimulator.somox.analyzer.rules.workflow.RuleEngineJob;
+
+import de.uka.ipd.sdq.workflow.jobs.JobFailedException;
+import de.uka.ipd.sdq.workflow.jobs.UserCanceledException;
 
 public class SeffAssociationTest extends RuleEngineTest {
 
@@ -43,6 +61,84 @@ public class SeffAssociationTest extends RuleEngineTest {
         }
     }
 
+    /**
+     * Every SEFF describes a signature of the generated repository, whose parameters are those of
+     * the associated method. This pins the association between the analyzed methods and the emitted
+     * signatures.
+     */
+    @Test
+    void associationsDescribeRepositorySignatures() {
+        RuleEngineBlackboard blackboard = getBlackboard();
+        Repository repository = (Repository) blackboard
+            .getPartition(RuleEngineConfiguration.RULE_ENGINE_BLACKBOARD_KEY_REPOSITORY);
+        Set<OperationSignature> signatures = repository.getInterfaces__Repository()
+            .stream()
+            .filter(OperationInterface.class::isInstance)
+            .map(OperationInterface.class::cast)
+            .flatMap(iface -> iface.getSignatures__OperationInterface()
+                .stream())
+            .collect(Collectors.toSet());
+
+        Map<ASTNode, ServiceEffectSpecification> associations = blackboard.getSeffAssociations();
+        assertFalse(associations.isEmpty(), "There must be SEFF/AST associations");
+
+        for (Map.Entry<ASTNode, ServiceEffectSpecification> association : associations.entrySet()) {
+            Signature signature = association.getValue()
+                .getDescribedService__SEFF();
+            assertTrue(signatures.contains(signature), "Every SEFF must describe a signature of the repository");
+
+            MethodDeclaration methodDeclaration = (MethodDeclaration) association.getKey();
+            List<String> parameterTypes = Stream.of(methodDeclaration.resolveBinding()
+                .getParameterTypes())
+                .map(type -> type.getName())
+                .collect(Collectors.toList());
+            List<String> parameterNames = ((OperationSignature) signature).getParameters__OperationSignature()
+                .stream()
+                .map(parameter -> parameter.getParameterName())
+                .collect(Collectors.toList());
+            assertEquals(parameterTypes, parameterNames,
+                    "The signature of a SEFF must have the parameters of the associated method");
+        }
+    }
+
+    /**
+     * Lazily created stubs end up at the same components as eagerly created ones, including
+     * operations whose signature belongs to another interface than the provided one.
+     */
+    @Test
+    void lazyStubsMatchEagerStubs() throws JobFailedException, UserCanceledException {
+        RuleEngineConfiguration ruleEngineConfig = getConfig();
+        URI eagerOutputFolder = ruleEngineConfig.getOutputFolder();
+        Map<String, Integer> eagerSeffCounts = getSeffCounts(eagerOutputFolder);
+
+        ruleEngineConfig.setLazySeffStubs(true);
+        ruleEngineConfig.setOutputFolder(eagerOutputFolder.appendSegment("lazy"));
+        try {
+            final RuleEngineJob ruleEngine = new RuleEngineJob(ruleEngineConfig);
+            ruleEngine.execute(new NullProgressMonitor());
+            assertEquals(eagerSeffCounts, getSeffCounts(ruleEngineConfig.getOutputFolder()));
+        } finally {
+            ruleEngineConfig.setLazySeffStubs(false);
+            ruleEngineConfig.setOutputFolder(eagerOutputFolder);
+        }
+    }
+
+    private static Map<String, Integer> getSeffCounts(URI outputFolder) {
+        // The SEFFs are moved out of the blackboard repository later on, so the saved one is read
+        Repository repository = ModelLoader.loadRepository(outputFolder.appendSegment("pcm.repository")
+            .toString());
+        return repository.getComponents__Repository()
+            .stream()
+            .filter(BasicComponent.class::isInstance)
+            .map(BasicComponent.class::cast)
+            .collect(Collectors.toMap(BasicComponent::getEntityName, component -> {
+                List<ServiceEffectSpecification> seffs = component.getServiceEffectSpecifications__BasicComponent();
+                seffs.forEach(seff -> assertNotNull(seff.getDescribedService__SEFF(),
+                        "Every SEFF of a component must describe a signature"));
+                return seffs.size();
+            }, Integer::sum));
+    }
+
     @Override
     void testRuleEngineSeff() {
         RuleEngineBlackboard blackboard = getBlackboard();
@@ -0,0 +1,122 @@
+package org.palladiosimulator.somox.analyzer.rules.workflow;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+
+import org.apache.commons.io.FileUtils;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.emf.common.util.URI;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.palladiosimulator.generator.fluent.repository.factory.FluentRepositoryFactory;
+import org.palladiosimulator.pcm.repository.Repository;
+import org.palladiosimulator.somox.analyzer.rules.configuration.Checkpoint;
+import org.palladiosimulator.somox.analyzer.rules.configuration.RuleEngineConfiguration;
+
+import de.uka.ipd.sdq.workflow.blackboard.Blackboard;
+
+public class CheckpointJobTest {
+    private final static URI TEMPORARY_OUTPUT_FOLDER = URI.createFileURI("./TEMP_CheckpointJobTest/");
+    private final static URI TEMPORARY_INPUT_FOLDER = URI.createFileURI("./TEMP_CheckpointJobTest_input/");
+    private final static String FINGERPRINT = "fingerprint";
+
+    @AfterEach
+    public void cleanUpDirectories() throws IOException {
+        FileUtils.deleteDirectory(new File(TEMPORARY_OUTPUT_FOLDER.path()));
+        FileUtils.deleteDirectory(new File(TEMPORARY_INPUT_FOLDER.path()));
+    }
+
+    @Test
+    public void testSaveAndRestoreRepository() {
+        assertNull(CheckpointJob.findLatest(TEMPORARY_OUTPUT_FOLDER, FINGERPRINT));
+
+        Repository repository = new FluentRepositoryFactory().newRepository()
+            .withName("checkpointed")
+            .createRepositoryNow();
+        Blackboard<Object> blackboard = new Blackboard<Object>();
+        blackboard.addPartition(RuleEngineConfiguration.RULE_ENGINE_BLACKBOARD_KEY_REPOSITORY, repository);
+        CheckpointJob saveJob = new CheckpointJob(blackboard, TEMPORARY_OUTPUT_FOLDER, Checkpoint.REPOSITORY,
+                FINGERPRINT, false);
+        assertDoesNotThrow(() -> saveJob.execute(new NullProgressMonitor()));
+
+        assertEquals(Checkpoint.REPOSITORY, CheckpointJob.findLatest(TEMPORARY_OUTPUT_FOLDER, FINGERPRINT));
+
+        Blackboard<Object> resumedBlackboard = new Blackboard<Object>();
+        CheckpointJob restoreJob = new CheckpointJob(resumedBlackboard, TEMPORARY_OUTPUT_FOLDER,
+                Checkpoint.REPOSITORY, FINGERPRINT, true);
+        assertDoesNotThrow(() -> restoreJob.execute(new NullProgressMonitor()));
+
+        Repository restoredRepository = (Repository) resumedBlackboard
+            .getPartition(RuleEngineConfiguration.RULE_ENGINE_BLACKBOARD_KEY_REPOSITORY);
+        assertEquals(repository.getId(), restoredRepository.getId());
+        assertEquals("checkpointed", restoredRepository.getEntityName());
+    }
+
+    @Test
+    public void testSavingInvalidatesLaterCheckpoints() {
+        Blackboard<Object> blackboard = new Blackboard<Object>();
+        blackboard.addPartition(RuleEngineConfiguration.RULE_ENGINE_BLACKBOARD_KEY_REPOSITORY,
+                new FluentRepositoryFactory().newRepository()
+                    .createRepositoryNow());
+        save(blackboard, Checkpoint.REPOSITORY, FINGERPRINT);
+        save(blackboard, Checkpoint.MOCORE_OUTPUT, FINGERPRINT);
+        assertEquals(Checkpoint.MOCORE_OUTPUT, CheckpointJob.findLatest(TEMPORARY_OUTPUT_FOLDER, FINGERPRINT));
+
+        // A new repository checkpoint makes the MoCoRe output of the old repository stale
+        blackboard.addPartition(RuleEngineConfiguration.RULE_ENGINE_BLACKBOARD_KEY_REPOSITORY,
+                new FluentRepositoryFactory().newRepository()
+                    .createRepositoryNow());
+        save(blackboard, Checkpoint.REPOSITORY, FINGERPRINT);
+        assertEquals(Checkpoint.REPOSITORY, CheckpointJob.findLatest(TEMPORARY_OUTPUT_FOLDER, FINGERPRINT));
+    }
+
+    @Test
+    public void testCheckpointOfOtherRunIsIgnored() {
+        Blackboard<Object> blackboard = new Blackboard<Object>();
+        blackboard.addPartition(RuleEngineConfiguration.RULE_ENGINE_BLACKBOARD_KEY_REPOSITORY,
+                new FluentRepositoryFactory().newRepository()
+                    .createRepositoryNow());
+        save(blackboard, Checkpoint.REPOSITORY, FINGERPRINT);
+
+        assertNull(CheckpointJob.findLatest(TEMPORARY_OUTPUT_FOLDER, "other" + FINGERPRINT));
+    }
+
+    @Test
+    public void testFingerprintCoversInputAndConfiguration() throws IOException {
+        Path inputFile = Path.of(TEMPORARY_INPUT_FOLDER.path(), "Input.java");
+        Files.createDirectories(inputFile.getParent());
+        Files.writeString(inputFile, "class Input {}", StandardCharsets.UTF_8);
+
+        RuleEngineConfiguration configuration = new RuleEngineConfiguration();
+        configuration.setInputFolder(TEMPORARY_INPUT_FOLDER);
+        configuration.setOutputFolder(TEMPORARY_OUTPUT_FOLDER);
+        String fingerprint = CheckpointJob.fingerprint(configuration);
+        assertEquals(fingerprint, CheckpointJob.fingerprint(configuration));
+
+        // Options of the checkpointing itself do not matter
+        configuration.setResume(true);
+        configuration.setCheckpoints(Set.of(Checkpoint.REPOSITORY));
+        assertEquals(fingerprint, CheckpointJob.fingerprint(configuration));
+
+        configuration.setLazySeffStubs(!configuration.isLazySeffStubs());
+        String configuredFingerprint = CheckpointJob.fingerprint(configuration);
+        assertNotEquals(fingerprint, configuredFingerprint);
+
+        Files.writeString(inputFile, "class Input { int changed; }", StandardCharsets.UTF_8);
+        assertNotEquals(configuredFingerprint, CheckpointJob.fingerprint(configuration));
+    }
+
+    private static void save(Blackboard<Object> blackboard, Checkpoint checkpoint, String fingerprint) {
+        CheckpointJob saveJob = new CheckpointJob(blackboard, TEMPORARY_OUTPUT_FOLDER, checkpoint, fingerprint, false);
+        assertDoesNotThrow(() -> saveJob.execute(new NullProgressMonitor()));
+    }
+}
@@ -2,13 +2,23 @@ package org.palladiosimulator.somox.analyzer.rules.workflow;
 
 import static org.junit.Assert.assertTrue;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.Map;
 
 import org.apache.commons.io.FileUtils;
 import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.BinaryResourceImpl;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.emf.ecore.xmi.impl.XMIResourceFactoryImpl;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.palladiosimulator.generator.fluent.allocation.factory.FluentAllocationFactory;
@@ -16,9 +26,12 @@ import org.palladiosimulator.generator.fluent.repository.factory.FluentRepositor
 import org.palladiosimulator.generator.fluent.resourceenvironment.factory.FluentResourceEnvironmentFactory;
 import org.palladiosimulator.generator.fluent.system.factory.FluentSystemFactory;
 import org.palladiosimulator.pcm.allocation.Allocation;
+import org.palladiosimulator.pcm.core.composition.AssemblyContext;
 import org.palladiosimulator.pcm.repository.Repository;
+import org.palladiosimulator.pcm.repository.RepositoryComponent;
 import org.palladiosimulator.pcm.resourceenvironment.ResourceEnvironment;
 import org.palladiosimulator.pcm.system.System;
+import org.palladiosimulator.somox.analyzer.rules.configuration.ModelFormat;
 
 import de.uka.ipd.sdq.workflow.blackboard.Blackboard;
 
@@ -77,4 +90,115 @@ public class PersistenceJobTest {
         assertTrue(new File(EXPECTED_FILE_PATH_PREFIX + ".resourceenvironment").exists());
         assertTrue(new File(EXPECTED_FILE_PATH_PREFIX + ".allocation").exists());
     }
+
+    @Test
+    public void testSaveEmptyModelsInEveryFormat() {
+        for (ModelFormat format : ModelFormat.values()) {
+            Blackboard<Object> blackboard = new Blackboard<Object>();
+            PersistenceJob job = new PersistenceJob(blackboard, INPUT_FOLDER, TEMPORARY_OUTPUT_FOLDER,
+                    BLACKBOARD_INPUT_REPOSITORY, BLACKBOARD_INPUT_SYSTEM, BLACKBOARD_INPUT_ALLOCATION,
+                    BLACKBOARD_INPUT_RESOURCEENVIRONMENT, format);
+
+            // Initialize models and add them to blackboard
+            Repository repository = new FluentRepositoryFactory().newRepository()
+                .createRepositoryNow();
+            blackboard.addPartition(BLACKBOARD_INPUT_REPOSITORY, repository);
+            blackboard.addPartition(BLACKBOARD_INPUT_SYSTEM, new FluentSystemFactory().newSystem()
+                .addRepository(repository)
+                .createSystemNow());
+            blackboard.addPartition(BLACKBOARD_INPUT_ALLOCATION, new FluentAllocationFactory().newAllocation()
+                .createAllocationNow());
+            blackboard.addPartition(BLACKBOARD_INPUT_RESOURCEENVIRONMENT,
+                    new FluentResourceEnvironmentFactory().newResourceEnvironment()
+                        .createResourceEnvironmentNow());
+
+            // Execute persistence job
+            assertDoesNotThrow(() -> job.execute(new NullProgressMonitor()));
+
+            // Check files exist
+            assertTrue(new File(EXPECTED_FILE_PATH_PREFIX + ".repository").exists());
+            assertTrue(new File(EXPECTED_FILE_PATH_PREFIX + ".system").exists());
+            assertTrue(new File(EXPECTED_FILE_PATH_PREFIX + ".resourceenvironment").exists());
+            assertTrue(new File(EXPECTED_FILE_PATH_PREFIX + ".allocation").exists());
+        }
+    }
+
+    @Test
+    public void testLoadSavedModelsInEveryFormat() throws IOException {
+        for (ModelFormat format : ModelFormat.values()) {
+            Blackboard<Object> blackboard = new Blackboard<Object>();
+            PersistenceJob job = new PersistenceJob(blackboard, INPUT_FOLDER, TEMPORARY_OUTPUT_FOLDER,
+                    BLACKBOARD_INPUT_REPOSITORY, BLACKBOARD_INPUT_SYSTEM, BLACKBOARD_INPUT_ALLOCATION,
+                    BLACKBOARD_INPUT_RESOURCEENVIRONMENT, format);
+
+            // Initialize models with a reference from the system into the repository
+            FluentRepositoryFactory repositoryFactory = new FluentRepositoryFactory();
+            Repository repository = repositoryFactory.newRepository()
+                .withName("Repository")
+                .addToRepository(repositoryFactory.newBasicComponent()
+                    .withName("Component"))
+                .createRepositoryNow();
+            FluentSystemFactory systemFactory = new FluentSystemFactory();
+            System system = systemFactory.newSystem()
+                .withName("System")
+                .addRepository(repository)
+                .addToSystem(systemFactory.newAssemblyContext()
+                    .withEncapsulatedComponent(repository.getComponents__Repository()
+                        .get(0))
+                    .withName("Context"))
+                .createSystemNow();
+            blackboard.addPartition(BLACKBOARD_INPUT_REPOSITORY, repository);
+            blackboard.addPartition(BLACKBOARD_INPUT_SYSTEM, system);
+            blackboard.addPartition(BLACKBOARD_INPUT_ALLOCATION, new FluentAllocationFactory().newAllocation()
+                .createAllocationNow());
+            blackboard.addPartition(BLACKBOARD_INPUT_RESOURCEENVIRONMENT,
+                    new FluentResourceEnvironmentFactory().newResourceEnvironment()
+                        .createResourceEnvironmentNow());
+
+            // Execute persistence job
+            assertDoesNotThrow(() -> job.execute(new NullProgressMonitor()));
+
+            // Load the files into a fresh resource set and resolve the references between them
+            ResourceSet resourceSet = new ResourceSetImpl();
+            for (String extension : new String[] { "repository", "system", "resourceenvironment", "allocation" }) {
+                resourceSet.getResourceFactoryRegistry()
+                    .getExtensionToFactoryMap()
+                    .put(extension, format == ModelFormat.BINARY ? (Resource.Factory) BinaryResourceImpl::new
+                            : new XMIResourceFactoryImpl());
+            }
+            Map<Object, Object> options = Map.of(Resource.OPTION_ZIP, format == ModelFormat.COMPRESSED_XMI);
+            Resource systemResource = load(resourceSet, ".system", options);
+            Resource repositoryResource = load(resourceSet, ".repository", options);
+            load(resourceSet, ".resourceenvironment", options);
+            load(resourceSet, ".allocation", options);
+            EcoreUtil.resolveAll(resourceSet);
+
+            Repository loadedRepository = (Repository) repositoryResource.getContents()
+                .get(0);
+            System loadedSystem = (System) systemResource.getContents()
+                .get(0);
+            assertEquals("Repository", loadedRepository.getEntityName(), format.toString());
+            assertEquals("System", loadedSystem.getEntityName(), format.toString());
+            assertEquals(1, loadedSystem.getAssemblyContexts__ComposedStructure()
+                .size(), format.toString());
+
+            AssemblyContext context = loadedSystem.getAssemblyContexts__ComposedStructure()
+                .get(0);
+            RepositoryComponent component = context.getEncapsulatedComponent__AssemblyContext();
+            assertFalse(component.eIsProxy(), format.toString());
+            assertSame(loadedRepository.getComponents__Repository()
+                .get(0), component, format.toString());
+            assertEquals("Component", component.getEntityName(), format.toString());
+
+            cleanUpDirectories();
+        }
+    }
+
+    private static Resource load(ResourceSet resourceSet, String extension, Map<Object, Object> options)
+            throws IOException {
+        Resource resource = resourceSet.createResource(URI.createFileURI(new File(EXPECTED_FILE_PATH_PREFIX + extension)
+            .getAbsolutePath()));
+        resource.load(options);
+        return resource;
+    }
 }
@@ -0,0 +1,116 @@
+package org.palladiosimulator.somox.analyzer.rules.workflow;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.apache.commons.io.FileUtils;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.emf.common.util.URI;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.palladiosimulator.generator.fluent.repository.factory.FluentRepositoryFactory;
+import org.palladiosimulator.pcm.repository.Repository;
+import org.palladiosimulator.somox.analyzer.rules.blackboard.RuleEngineBlackboard;
+import org.palladiosimulator.somox.analyzer.rules.configuration.RuleEngineConfiguration;
+
+public class PlantUmlJobTest {
+    private final static URI TEMPORARY_OUTPUT_FOLDER = URI.createFileURI("./TEMP_PlantUmlJobTest/");
+
+    @BeforeEach
+    public void createDirectories() throws IOException {
+        Files.createDirectories(Path.of(TEMPORARY_OUTPUT_FOLDER.path()));
+    }
+
+    @AfterEach
+    public void cleanUpDirectories() throws IOException {
+        FileUtils.deleteDirectory(new File(TEMPORARY_OUTPUT_FOLDER.path()));
+    }
+
+    @Test
+    public void testSplitPerComposite() throws IOException {
+        FluentRepositoryFactory factory = new FluentRepositoryFactory();
+        Repository repository = factory.newRepository()
+            .withName("Repository")
+            .addToRepository(factory.newBasicComponent()
+                .withName("Inner"))
+            .addToRepository(factory.newBasicComponent()
+                .withName("Outer"))
+            .addToRepository(factory.newCompositeComponent()
+                .withName("Composite")
+                .withAssemblyContext(factory.fetchOfComponent("Inner"), "InnerContext"))
+            .createRepositoryNow();
+
+        RuleEngineConfiguration configuration = new RuleEngineConfiguration();
+        configuration.setOutputFolder(TEMPORARY_OUTPUT_FOLDER);
+        configuration.setSplitPlantUml(true);
+        RuleEngineBlackboard blackboard = new RuleEngineBlackboard();
+        blackboard.addPartition(RuleEngineConfiguration.RULE_ENGINE_BLACKBOARD_KEY_REPOSITORY, repository);
+
+        PlantUmlJob job = new PlantUmlJob(configuration, blackboard);
+        assertDoesNotThrow(() -> job.execute(new NullProgressMonitor()));
+
+        String compositeDiagram = read("componentDiagram_Composite.puml");
+        assertTrue(compositeDiagram.contains("Inner"));
+        assertFalse(compositeDiagram.contains("Outer"));
+
+        String remainingDiagram = read("componentDiagram.puml");
+        assertTrue(remainingDiagram.contains("Outer"));
+
+        // The original repository is left untouched
+        assertEquals(3, repository.getComponents__Repository()
+            .size());
+    }
+
+    @Test
+    public void testCollidingFileNamesAreKept() throws IOException {
+        FluentRepositoryFactory factory = new FluentRepositoryFactory();
+        Repository repository = factory.newRepository()
+            .withName("Repository")
+            .addToRepository(factory.newBasicComponent()
+                .withName("First"))
+            .addToRepository(factory.newBasicComponent()
+                .withName("Second"))
+            .addToRepository(factory.newCompositeComponent()
+                .withName("Composite A")
+                .withAssemblyContext(factory.fetchOfComponent("First"), "FirstContext"))
+            .addToRepository(factory.newCompositeComponent()
+                .withName("Composite/A")
+                .withAssemblyContext(factory.fetchOfComponent("Second"), "SecondContext"))
+            .createRepositoryNow();
+
+        RuleEngineConfiguration configuration = new RuleEngineConfiguration();
+        configuration.setOutputFolder(TEMPORARY_OUTPUT_FOLDER);
+        configuration.setSplitPlantUml(true);
+        RuleEngineBlackboard blackboard = new RuleEngineBlackboard();
+        blackboard.addPartition(RuleEngineConfiguration.RULE_ENGINE_BLACKBOARD_KEY_REPOSITORY, repository);
+
+        PlantUmlJob job = new PlantUmlJob(configuration, blackboard);
+        assertDoesNotThrow(() -> job.execute(new NullProgressMonitor()));
+
+        // Both names map to the same file name, so the second one gets a suffix
+        String firstDiagram = read("componentDiagram_Composite_A.puml");
+        assertTrue(firstDiagram.contains("First"));
+        assertFalse(firstDiagram.contains("Second"));
+        String secondDiagram = read("componentDiagram_Composite_A_2.puml");
+        assertTrue(secondDiagram.contains("Second"));
+        assertFalse(secondDiagram.contains("First"));
+    }
+
+    private static String read(String fileName) throws IOException {
+        Path file = Path.of(TEMPORARY_OUTPUT_FOLDER.path(), fileName);
+        assertTrue(Files.exists(file), fileName);
+        String diagram = Files.readString(file, StandardCharsets.UTF_8);
+        assertTrue(diagram.startsWith("@startuml\n"), fileName);
+        assertTrue(diagram.endsWith("\n@enduml\n"), fileName);
+        return diagram;
+    }
+}
@@ -0,0 +1,217 @@
+package org.palladiosimulator.somox.analyzer.rules.workflow;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.emf.common.util.URI;
+import org.junit.jupiter.api.Test;
+import org.palladiosimulator.somox.analyzer.rules.configuration.RuleEngineConfiguration;
+import org.palladiosimulator.somox.analyzer.rules.mocore.workflow.MoCoReJob;
+
+import de.uka.ipd.sdq.workflow.jobs.CleanupFailedException;
+import de.uka.ipd.sdq.workflow.jobs.IJob;
+import de.uka.ipd.sdq.workflow.jobs.JobFailedException;
+import de.uka.ipd.sdq.workflow.jobs.UserCanceledException;
+
+public class StageSchedulerJobTest {
+    private static final String KEY = "key";
+
+    @Test
+    public void testReaderWaitsForWriter() {
+        List<String> executed = new CopyOnWriteArrayList<>();
+        StageSchedulerJob scheduler = new StageSchedulerJob();
+        scheduler.add(createJob("writer", () -> {
+            sleep();
+            executed.add("writer");
+        }), Set.of(), Set.of(KEY));
+        scheduler.add(createJob("reader", () -> executed.add("reader")), Set.of(KEY), Set.of());
+
+        assertDoesNotThrow(() -> scheduler.execute(new NullProgressMonitor()));
+        assertEquals(List.of("writer", "reader"), executed);
+    }
+
+    @Test
+    public void testWriterWaitsForReader() {
+        List<String> executed = new CopyOnWriteArrayList<>();
+        StageSchedulerJob scheduler = new StageSchedulerJob();
+        scheduler.add(createJob("reader", () -> {
+            sleep();
+            executed.add("reader");
+        }), Set.of(KEY), Set.of());
+        scheduler.add(createJob("writer", () -> executed.add("writer")), Set.of(), Set.of(KEY));
+
+        assertDoesNotThrow(() -> scheduler.execute(new NullProgressMonitor()));
+        assertEquals(List.of("reader", "writer"), executed);
+    }
+
+    @Test
+    public void testIndependentStagesRunConcurrently() {
+        // Both stages only finish if they are running at the same time
+        CountDownLatch latch = new CountDownLatch(2);
+        Runnable awaitOther = () -> {
+            latch.countDown();
+            try {
+                if (!latch.await(10, TimeUnit.SECONDS)) {
+                    throw new IllegalStateException("The stages did not run concurrently");
+                }
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        };
+
+        StageSchedulerJob scheduler = new StageSchedulerJob();
+        scheduler.add(createJob("first", awaitOther), Set.of(KEY), Set.of("first"));
+        scheduler.add(createJob("second", awaitOther), Set.of(KEY), Set.of("second"));
+
+        assertDoesNotThrow(() -> scheduler.execute(new NullProgressMonitor()));
+    }
+
+    @Test
+    public void testFailureSkipsDependentStages() {
+        List<String> executed = new CopyOnWriteArrayList<>();
+        StageSchedulerJob scheduler = new StageSchedulerJob();
+        scheduler.add(new IJob() {
+            @Override
+            public void execute(IProgressMonitor monitor) throws JobFailedException, UserCanceledException {
+                throw new JobFailedException("Failing stage", new IllegalStateException());
+            }
+
+            @Override
+            public void cleanup(IProgressMonitor monitor) throws CleanupFailedException {
+            }
+
+            @Override
+            public String getName() {
+                return "failing";
+            }
+        }, Set.of(), Set.of(KEY));
+        scheduler.add(createJob("dependent", () -> executed.add("dependent")), Set.of(KEY), Set.of());
+        scheduler.add(createJob("independent", () -> executed.add("independent")), Set.of(), Set.of());
+
+        assertThrows(JobFailedException.class, () -> scheduler.execute(new NullProgressMonitor()));
+        assertEquals(List.of("independent"), executed);
+    }
+
+    @Test
+    public void testReleaseAfterLastAccess() {
+        List<String> executed = new CopyOnWriteArrayList<>();
+        StageSchedulerJob scheduler = new StageSchedulerJob();
+        scheduler.add(createJob("writer", () -> executed.add("writer")), Set.of(), Set.of(KEY));
+        scheduler.releaseAfter(Set.of(KEY), () -> executed.add("release"));
+        scheduler.add(createJob("reader", () -> {
+            sleep();
+            executed.add("reader");
+        }), Set.of(KEY), Set.of());
+
+        assertDoesNotThrow(() -> scheduler.execute(new NullProgressMonitor()));
+        assertEquals(List.of("writer", "reader", "release"), executed);
+    }
+
+    @Test
+    public void testStagesGetOwnMonitors() {
+        List<IProgressMonitor> stageMonitors = new CopyOnWriteArrayList<>();
+        List<Integer> work = new CopyOnWriteArrayList<>();
+        IProgressMonitor monitor = new NullProgressMonitor() {
+            @Override
+            public void worked(int units) {
+                work.add(units);
+            }
+        };
+
+        StageSchedulerJob scheduler = new StageSchedulerJob();
+        for (String name : List.of("first", "second")) {
+            scheduler.add(new IJob() {
+                @Override
+                public void execute(IProgressMonitor stageMonitor) throws JobFailedException, UserCanceledException {
+                    stageMonitor.beginTask(name, 10);
+                    stageMonitor.worked(10);
+                    stageMonitor.done();
+                    stageMonitors.add(stageMonitor);
+                }
+
+                @Override
+                public void cleanup(IProgressMonitor stageMonitor) throws CleanupFailedException {
+                }
+
+                @Override
+                public String getName() {
+                    return name;
+                }
+            }, Set.of(), Set.of(name));
+        }
+
+        assertDoesNotThrow(() -> scheduler.execute(monitor));
+        assertEquals(2, stageMonitors.size());
+        assertFalse(stageMonitors.contains(monitor));
+        // Every finished stage counts as one unit of work, the work within a stage is not forwarded
+        assertEquals(List.of(1, 1), work);
+    }
+
+    @Test
+    public void testRuleEngineStagesAreOrderedByTheirKeys() {
+        RuleEngineConfiguration configuration = new RuleEngineConfiguration();
+        configuration.setInputFolder(URI.createFileURI("./input_folder/"));
+        configuration.setOutputFolder(URI.createFileURI("./output_folder/"));
+        StageSchedulerJob scheduler = new RuleEngineJob(configuration).getStages();
+
+        IJob seffMerger = findJob(scheduler, SeffMergerJob.class);
+        IJob moCoRe = findJob(scheduler, MoCoReJob.class);
+        IJob typeMerger = findJob(scheduler, TypeMergerJob.class);
+        IJob persistence = findJob(scheduler, PersistenceJob.class);
+        IJob plantUml = findJob(scheduler, PlantUmlJob.class);
+
+        assertTrue(scheduler.isOrderedAfter(moCoRe, seffMerger));
+        // MoCoRe moves the SEFFs out of the repository, type merging moves the types
+        assertTrue(scheduler.isOrderedAfter(typeMerger, moCoRe));
+        // Saving attaches the moved elements to resources
+        assertTrue(scheduler.isOrderedAfter(persistence, typeMerger));
+        // The diagrams are generated from the repository the saved elements were moved out of
+        assertTrue(scheduler.isOrderedAfter(plantUml, persistence));
+        assertFalse(scheduler.isOrderedAfter(seffMerger, moCoRe));
+    }
+
+    private static IJob findJob(StageSchedulerJob scheduler, Class<? extends IJob> jobClass) {
+        return scheduler.getJobs()
+            .stream()
+            .filter(jobClass::isInstance)
+            .findFirst()
+            .orElseThrow();
+    }
+
+    private static IJob createJob(String name, Runnable action) {
+        return new IJob() {
+            @Override
+            public void execute(IProgressMonitor monitor) throws JobFailedException, UserCanceledException {
+                action.run();
+            }
+
+            @Override
+            public void cleanup(IProgressMonitor monitor) throws CleanupFailedException {
+            }
+
+            @Override
+            public String getName() {
+                return name;
+            }
+        };
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(100);
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
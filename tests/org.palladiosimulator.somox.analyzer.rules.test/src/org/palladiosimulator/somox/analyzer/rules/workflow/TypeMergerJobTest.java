@@ -0,0 +1,79 @@
+package org.palladiosimulator.somox.analyzer.rules.workflow;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.junit.jupiter.api.Test;
+import org.palladiosimulator.pcm.repository.CompositeDataType;
+import org.palladiosimulator.pcm.repository.InnerDeclaration;
+import org.palladiosimulator.pcm.repository.Repository;
+import org.palladiosimulator.pcm.repository.RepositoryFactory;
+
+import de.uka.ipd.sdq.workflow.blackboard.Blackboard;
+
+public class TypeMergerJobTest {
+    private static final String SOURCE_KEY = "source";
+    private static final String DESTINATION_KEY = "destination";
+
+    @Test
+    public void testMergeMovesAllTypes() {
+        Repository source = RepositoryFactory.eINSTANCE.createRepository();
+        Repository destination = RepositoryFactory.eINSTANCE.createRepository();
+        destination.getDataTypes__Repository()
+            .add(createCompositeType("A"));
+        source.getDataTypes__Repository()
+            .add(createCompositeType("A"));
+
+        executeJob(source, destination, false);
+
+        assertTrue(source.getDataTypes__Repository()
+            .isEmpty());
+        assertEquals(2, destination.getDataTypes__Repository()
+            .size());
+    }
+
+    @Test
+    public void testDeduplicationRewiresReferences() {
+        Repository source = RepositoryFactory.eINSTANCE.createRepository();
+        Repository destination = RepositoryFactory.eINSTANCE.createRepository();
+        CompositeDataType canonicalType = createCompositeType("A");
+        destination.getDataTypes__Repository()
+            .add(canonicalType);
+        CompositeDataType duplicateType = createCompositeType("A");
+        CompositeDataType referencingType = createCompositeType("B");
+        InnerDeclaration declaration = RepositoryFactory.eINSTANCE.createInnerDeclaration();
+        declaration.setEntityName("a");
+        declaration.setDatatype_InnerDeclaration(duplicateType);
+        referencingType.getInnerDeclaration_CompositeDataType()
+            .add(declaration);
+        source.getDataTypes__Repository()
+            .add(duplicateType);
+        source.getDataTypes__Repository()
+            .add(referencingType);
+
+        executeJob(source, destination, true);
+
+        assertTrue(source.getDataTypes__Repository()
+            .isEmpty());
+        assertEquals(2, destination.getDataTypes__Repository()
+            .size());
+        assertSame(canonicalType, declaration.getDatatype_InnerDeclaration());
+    }
+
+    private static void executeJob(Repository source, Repository destination, boolean deduplicate) {
+        Blackboard<Object> blackboard = new Blackboard<>();
+        blackboard.addPartition(SOURCE_KEY, source);
+        blackboard.addPartition(DESTINATION_KEY, destination);
+        TypeMergerJob job = new TypeMergerJob(blackboard, SOURCE_KEY, DESTINATION_KEY, deduplicate);
+        assertDoesNotThrow(() -> job.execute(new NullProgressMonitor()));
+    }
+
+    private static CompositeDataType createCompositeType(String name) {
+        CompositeDataType type = RepositoryFactory.eINSTANCE.createCompositeDataType();
+        type.setEntityName(name);
+        return type;
+    }
+}